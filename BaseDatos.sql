@@ -109,18 +109,36 @@ CREATE TABLE IF NOT EXISTS public.accounts (
     FOREIGN KEY (cliente_id) REFERENCES public.client_snapshot(cliente_id)
 );
 
--- Movements: base + luego columnas de trazabilidad SOLO ADITIVAS vía ALTER
+-- Versionado optimista de cuentas (solo aditivo)
+ALTER TABLE public.accounts
+  ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_accounts_cliente
+  ON public.accounts (cliente_id, account_number);
+
+-- Movements: particionada por mes sobre movement_date. Una tabla heap previa se
+-- renombra aquí y sus filas se copian a las particiones más abajo.
+DO $$
+BEGIN
+  IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass('public.movements') AND relkind = 'r') THEN
+    ALTER TABLE public.movements RENAME TO movements_unpartitioned;
+    ALTER TABLE public.movements_unpartitioned RENAME CONSTRAINT movements_pkey TO movements_unpartitioned_pkey;
+    ALTER INDEX IF EXISTS public.idx_movements_account_order RENAME TO idx_movements_unpartitioned_account_order;
+  END IF;
+END $$;
+
 CREATE TABLE IF NOT EXISTS public.movements (
-  movement_id     UUID PRIMARY KEY,
+  movement_id     UUID NOT NULL,
   account_number  VARCHAR(30) NOT NULL,
   movement_date   TIMESTAMPTZ NOT NULL DEFAULT now(),
   movement_type   VARCHAR(20) NOT NULL, -- DEPOSITO | RETIRO
   amount          NUMERIC(19,2) NOT NULL CHECK (amount > 0),
   balance_after   NUMERIC(19,2) NOT NULL CHECK (balance_after >= 0),
   created_at      TIMESTAMPTZ NOT NULL DEFAULT now(),
+  PRIMARY KEY (movement_id, movement_date),
   CONSTRAINT fk_movements_account
     FOREIGN KEY (account_number) REFERENCES public.accounts(account_number)
-);
+) PARTITION BY RANGE (movement_date);
 
 -- Phase 5 (solo aditivo): asegura columnas aunque la tabla ya exista
 ALTER TABLE public.movements
@@ -134,17 +152,186 @@ ALTER TABLE public.movements
 ALTER TABLE public.movements
   ADD COLUMN IF NOT EXISTS replacement_movement_id UUID NULL;
 
+-- Dueño de la cuenta desnormalizado: búsquedas y reportes por cliente sin join a accounts
+ALTER TABLE public.movements
+  ADD COLUMN IF NOT EXISTS cliente_id UUID NULL;
+
+-- Orden de reconciliación por cuenta (ancla + cola desde la fecha afectada).
+-- Definido sobre la tabla padre: cada partición recibe su propio índice.
+CREATE INDEX IF NOT EXISTS idx_movements_account_order
+  ON public.movements (account_number, movement_date, created_at, movement_id);
+
+-- Búsqueda de movimientos: un índice por forma de filtro (cuenta, cliente, solo fechas)
+CREATE INDEX IF NOT EXISTS idx_movements_date_order
+  ON public.movements (movement_date, created_at, movement_id);
+
+CREATE INDEX IF NOT EXISTS idx_movements_cliente_date
+  ON public.movements (cliente_id, movement_date, created_at, movement_id);
+
+-- Crea las particiones mensuales (UTC) que falten entre dos fechas.
+-- Si la partición DEFAULT ya tiene filas de ese mes, la desacopla, crea el mes,
+-- mueve las filas y la vuelve a acoplar. El servicio la invoca a diario (MovementPartitionJob).
+CREATE OR REPLACE FUNCTION public.ensure_movement_partitions(from_day DATE, to_day DATE)
+RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+  month_start DATE := date_trunc('month', from_day)::date;
+  range_start TIMESTAMPTZ;
+  range_end TIMESTAMPTZ;
+  partition_name TEXT;
+  stranded BOOLEAN;
+  created INTEGER := 0;
+BEGIN
+  WHILE month_start <= to_day LOOP
+    partition_name := 'movements_p' || to_char(month_start, 'YYYYMM');
+    IF to_regclass('public.' || partition_name) IS NULL THEN
+      range_start := month_start::timestamp AT TIME ZONE 'UTC';
+      range_end := (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC';
+      stranded := FALSE;
+      IF to_regclass('public.movements_default') IS NOT NULL THEN
+        stranded := EXISTS (
+          SELECT 1 FROM public.movements_default
+          WHERE movement_date >= range_start AND movement_date < range_end
+        );
+      END IF;
+      IF stranded THEN
+        ALTER TABLE public.movements DETACH PARTITION public.movements_default;
+      END IF;
+      EXECUTE format(
+        'CREATE TABLE public.%I PARTITION OF public.movements FOR VALUES FROM (%L) TO (%L)',
+        partition_name,
+        range_start,
+        range_end
+      );
+      IF stranded THEN
+        INSERT INTO public.movements
+        SELECT * FROM public.movements_default
+        WHERE movement_date >= range_start AND movement_date < range_end;
+        DELETE FROM public.movements_default
+        WHERE movement_date >= range_start AND movement_date < range_end;
+        ALTER TABLE public.movements ATTACH PARTITION public.movements_default DEFAULT;
+      END IF;
+      created := created + 1;
+    END IF;
+    month_start := (month_start + INTERVAL '1 month')::date;
+  END LOOP;
+  RETURN created;
+END $$;
+
+DO $$
+BEGIN
+  IF to_regclass('public.movements_unpartitioned') IS NOT NULL THEN
+    PERFORM public.ensure_movement_partitions(
+      coalesce((SELECT min(movement_date AT TIME ZONE 'UTC')::date FROM public.movements_unpartitioned), current_date),
+      greatest((SELECT max(movement_date AT TIME ZONE 'UTC')::date FROM public.movements_unpartitioned), current_date)
+    );
+    INSERT INTO public.movements (
+      movement_id, account_number, movement_date, movement_type, amount, balance_after, created_at,
+      status, voided_at, void_reason, reversal_movement_id, replacement_movement_id
+    )
+    SELECT movement_id, account_number, movement_date, movement_type, amount, balance_after, created_at,
+           status, voided_at, void_reason, reversal_movement_id, replacement_movement_id
+    FROM public.movements_unpartitioned;
+    DROP TABLE public.movements_unpartitioned;
+  END IF;
+END $$;
+
+-- Backfill de cliente_id (filas previas a la columna o migradas arriba)
+UPDATE public.movements m
+SET cliente_id = a.cliente_id
+FROM public.accounts a
+WHERE a.account_number = m.account_number
+  AND m.cliente_id IS NULL;
+
+ALTER TABLE public.movements
+  ALTER COLUMN cliente_id SET NOT NULL;
+
+SELECT public.ensure_movement_partitions(
+  (now() AT TIME ZONE 'UTC')::date,
+  ((now() AT TIME ZONE 'UTC') + INTERVAL '3 months')::date
+);
+
+-- Red de seguridad para fechas fuera de las particiones mensuales
+CREATE TABLE IF NOT EXISTS public.movements_default PARTITION OF public.movements DEFAULT;
+
+-- Saldo de cierre diario por cuenta (reconciliación acotada y saldo a una fecha)
+CREATE TABLE IF NOT EXISTS public.balance_checkpoints (
+  account_number   VARCHAR(30) NOT NULL,
+  checkpoint_date  DATE NOT NULL,
+  closing_balance  NUMERIC(19,2) NOT NULL CHECK (closing_balance >= 0),
+  updated_at       TIMESTAMPTZ NOT NULL DEFAULT now(),
+  PRIMARY KEY (account_number, checkpoint_date),
+  CONSTRAINT fk_balance_checkpoints_account
+    FOREIGN KEY (account_number) REFERENCES public.accounts(account_number)
+);
+
+-- Totales diarios de movimientos por cuenta (dashboards y /cuentas/{n}/totales)
+CREATE TABLE IF NOT EXISTS public.movement_daily_totals (
+  account_number     VARCHAR(30) NOT NULL,
+  total_date         DATE NOT NULL,
+  deposit_count      BIGINT NOT NULL DEFAULT 0,
+  deposit_amount     NUMERIC(19,2) NOT NULL DEFAULT 0,
+  withdrawal_count   BIGINT NOT NULL DEFAULT 0,
+  withdrawal_amount  NUMERIC(19,2) NOT NULL DEFAULT 0,
+  closing_balance    NUMERIC(19,2) NOT NULL CHECK (closing_balance >= 0),
+  updated_at         TIMESTAMPTZ NOT NULL DEFAULT now(),
+  PRIMARY KEY (account_number, total_date),
+  CONSTRAINT fk_movement_daily_totals_account
+    FOREIGN KEY (account_number) REFERENCES public.accounts(account_number)
+);
+
+INSERT INTO public.movement_daily_totals (
+  account_number, total_date, deposit_count, deposit_amount,
+  withdrawal_count, withdrawal_amount, closing_balance, updated_at
+)
+SELECT m.account_number,
+       (m.movement_date AT TIME ZONE 'UTC')::date,
+       count(*) FILTER (WHERE m.status = 'ACTIVE' AND m.movement_type = 'DEPOSITO'),
+       coalesce(sum(m.amount) FILTER (WHERE m.status = 'ACTIVE' AND m.movement_type = 'DEPOSITO'), 0),
+       count(*) FILTER (WHERE m.status = 'ACTIVE' AND m.movement_type = 'RETIRO'),
+       coalesce(sum(m.amount) FILTER (WHERE m.status = 'ACTIVE' AND m.movement_type = 'RETIRO'), 0),
+       (array_agg(m.balance_after ORDER BY m.movement_date DESC, m.created_at DESC, m.movement_id DESC))[1],
+       now()
+FROM public.movements m
+GROUP BY m.account_number, (m.movement_date AT TIME ZONE 'UTC')::date
+ON CONFLICT (account_number, total_date) DO NOTHING;
+
 -- Para idempotencia en consumidor RabbitMQ
 CREATE TABLE IF NOT EXISTS public.processed_events (
   event_id       UUID PRIMARY KEY,
   processed_at   TIMESTAMPTZ NOT NULL DEFAULT now()
 );
 
+-- Idempotency-Key de POST /movimientos (respuesta almacenada con TTL)
+CREATE TABLE IF NOT EXISTS public.idempotency_keys (
+  idempotency_key  VARCHAR(200) PRIMARY KEY,
+  request_hash     VARCHAR(64) NOT NULL,
+  response_body    TEXT NOT NULL,
+  created_at       TIMESTAMPTZ NOT NULL DEFAULT now(),
+  expires_at       TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires
+  ON public.idempotency_keys (expires_at);
+
 -- Owners correctos
 ALTER TABLE public.client_snapshot   OWNER TO account_app;
 ALTER TABLE public.accounts          OWNER TO account_app;
 ALTER TABLE public.movements         OWNER TO account_app;
+ALTER TABLE public.balance_checkpoints OWNER TO account_app;
+ALTER TABLE public.movement_daily_totals OWNER TO account_app;
 ALTER TABLE public.processed_events  OWNER TO account_app;
+ALTER TABLE public.idempotency_keys  OWNER TO account_app;
+ALTER FUNCTION public.ensure_movement_partitions(DATE, DATE) OWNER TO account_app;
+
+DO $$
+DECLARE
+  partition REGCLASS;
+BEGIN
+  FOR partition IN SELECT inhrelid::regclass FROM pg_inherits WHERE inhparent = 'public.movements'::regclass LOOP
+    EXECUTE format('ALTER TABLE %s OWNER TO account_app', partition);
+  END LOOP;
+END $$;
 
 -- Permisos
 GRANT CONNECT ON DATABASE account_db TO account_app;
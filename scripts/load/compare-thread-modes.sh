@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Runs movements.js against docker-compose once with platform threads and once with virtual threads.
+# Requires docker compose and k6 on the PATH. Extra arguments are passed to k6 (e.g. -e VUS=500).
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+OUT="${OUT:-$ROOT/scripts/load/results}"
+mkdir -p "$OUT"
+
+wait_healthy() {
+    for port in 8081 8082; do
+        until curl -fs "http://localhost:${port}/actuator/health" > /dev/null; do
+            sleep 2
+        done
+    done
+}
+
+for mode in false true; do
+    echo "== VIRTUAL_THREADS_ENABLED=${mode}"
+    VIRTUAL_THREADS_ENABLED="$mode" docker compose -f "$ROOT/docker-compose.yml" up -d --build --force-recreate
+    wait_healthy
+    k6 run --summary-export "$OUT/virtual-threads-${mode}.json" "$@" "$ROOT/scripts/load/movements.js"
+    curl -fs "http://localhost:8082/actuator/metrics/hikaricp.connections.pending" > "$OUT/hikari-pending-${mode}.json" || true
+done
+
+docker compose -f "$ROOT/docker-compose.yml" down
+echo "Summaries written to $OUT"
@@ -0,0 +1,87 @@
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const CUSTOMER_URL = __ENV.CUSTOMER_URL || 'http://localhost:8081';
+const ACCOUNT_URL = __ENV.ACCOUNT_URL || 'http://localhost:8082';
+const ACCOUNTS = Number(__ENV.ACCOUNTS || 50);
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    scenarios: {
+        clients: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Number(__ENV.VUS || 2000) },
+                { duration: __ENV.DURATION || '2m', target: Number(__ENV.VUS || 2000) },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    const suffix = Date.now();
+    const customer = http.post(`${CUSTOMER_URL}/clientes`, JSON.stringify({
+        name: 'Load Test',
+        gender: 'M',
+        age: 30,
+        identificacion: `LOAD-${suffix}`,
+        tipoIdentificacion: 'CC',
+        address: 'Load Street 1',
+        phone: '0999999999',
+        password: 'load-test-password',
+    }), JSON_HEADERS);
+    if (customer.status !== 201) {
+        throw new Error(`Customer creation failed: ${customer.status} ${customer.body}`);
+    }
+    const clienteId = customer.json('clienteId');
+
+    const accounts = [];
+    for (let i = 0; i < ACCOUNTS; i++) {
+        const accountNumber = `LOAD-${suffix}-${i}`;
+        const body = JSON.stringify({
+            accountNumber,
+            accountType: 'AHORROS',
+            initialBalance: 1000000,
+            clienteId,
+        });
+        let created = http.post(`${ACCOUNT_URL}/cuentas`, body, JSON_HEADERS);
+        for (let attempt = 0; created.status !== 201 && attempt < 30; attempt++) {
+            sleep(1);
+            created = http.post(`${ACCOUNT_URL}/cuentas`, body, JSON_HEADERS);
+        }
+        if (created.status !== 201) {
+            throw new Error(`Account creation failed: ${created.status} ${created.body}`);
+        }
+        accounts.push(accountNumber);
+    }
+    return { clienteId, accounts };
+}
+
+export default function (data) {
+    const accountNumber = data.accounts[Math.floor(Math.random() * data.accounts.length)];
+    const roll = Math.random();
+    if (roll < 0.5) {
+        const res = http.get(`${ACCOUNT_URL}/cuentas/${accountNumber}`, { tags: { name: 'GET /cuentas/{n}' } });
+        check(res, { 'account read': (r) => r.status === 200 });
+    } else if (roll < 0.9) {
+        const res = http.post(`${ACCOUNT_URL}/movimientos`, JSON.stringify({
+            accountNumber,
+            movementType: Math.random() < 0.5 ? 'DEPOSITO' : 'RETIRO',
+            amount: 1,
+        }), Object.assign({ tags: { name: 'POST /movimientos' } }, JSON_HEADERS));
+        check(res, { 'movement posted': (r) => r.status === 201 });
+    } else {
+        const today = new Date().toISOString().slice(0, 10);
+        const res = http.get(
+            `${ACCOUNT_URL}/reportes?fechaDesde=${today}&fechaHasta=${today}&clienteId=${data.clienteId}`,
+            { tags: { name: 'GET /reportes' } });
+        check(res, { 'report read': (r) => r.status === 200 });
+    }
+    sleep(Math.random());
+}
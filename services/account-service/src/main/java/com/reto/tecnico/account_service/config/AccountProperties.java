@@ -0,0 +1,24 @@
+package com.reto.tecnico.account_service.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.accounts")
+public class AccountProperties {
+
+    private Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = false;
+        private Duration ttl = Duration.ofSeconds(30);
+        private int maxSize = 100_000;
+    }
+}
@@ -0,0 +1,67 @@
+package com.reto.tecnico.account_service.config;
+
+import com.reto.tecnico.account_service.datasource.ConsistencyTokenFilter;
+import com.reto.tecnico.account_service.datasource.ConsistencyTokenIssuer;
+import com.reto.tecnico.account_service.datasource.ConsistencyTokenTaskDecorator;
+import com.reto.tecnico.account_service.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.replica", name = "enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReplicaProperties replicaProperties) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaProperties.getUrl())
+                .username(replicaProperties.getUsername())
+                .password(replicaProperties.getPassword())
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(
+                new ReplicaDataSource(replicaDataSource, primaryDataSource, meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public ConsistencyTokenFilter consistencyTokenFilter() {
+        return new ConsistencyTokenFilter();
+    }
+
+    @Bean
+    public ConsistencyTokenIssuer consistencyTokenIssuer(DataSource dataSource) {
+        return new ConsistencyTokenIssuer(dataSource);
+    }
+
+    @Bean
+    public ConsistencyTokenTaskDecorator consistencyTokenTaskDecorator() {
+        return new ConsistencyTokenTaskDecorator();
+    }
+}
@@ -0,0 +1,24 @@
+package com.reto.tecnico.account_service.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    private Duration ttl = Duration.ofHours(24);
+    private int maxKeyLength = 200;
+    private Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private int maxSize = 10_000;
+    }
+}
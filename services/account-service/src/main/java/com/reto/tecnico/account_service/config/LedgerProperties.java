@@ -0,0 +1,32 @@
+package com.reto.tecnico.account_service.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.ledger")
+public class LedgerProperties {
+
+    private boolean enabled = false;
+    private int ringSize = 65_536;
+    private int persistBatchSize = 1_000;
+    private Duration persistRetryDelay = Duration.ofSeconds(1);
+    private int persistMaxAttempts = 5;
+    private Duration persistTimeout = Duration.ofSeconds(10);
+    private Duration requestTimeout = Duration.ofSeconds(15);
+    private Journal journal = new Journal();
+
+    @Getter
+    @Setter
+    public static class Journal {
+        private boolean enabled = false;
+        private String path = "data/ledger.journal";
+        private DataSize size = DataSize.ofMegabytes(64);
+    }
+}
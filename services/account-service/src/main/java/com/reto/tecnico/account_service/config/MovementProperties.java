@@ -0,0 +1,63 @@
+package com.reto.tecnico.account_service.config;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.movements")
+public class MovementProperties {
+
+    private WriteMode writeMode = WriteMode.PESSIMISTIC;
+    private Reconciliation reconciliation = new Reconciliation();
+    private Combiner combiner = new Combiner();
+    private Optimistic optimistic = new Optimistic();
+    private Search search = new Search();
+
+    @Getter
+    @Setter
+    public static class Reconciliation {
+        private ReconciliationMode mode = ReconciliationMode.INCREMENTAL;
+    }
+
+    @Getter
+    @Setter
+    public static class Combiner {
+        private boolean enabled = false;
+        private Duration window = Duration.of(300, ChronoUnit.MICROS);
+        private int maxBatchSize = 256;
+        private int threads = 8;
+    }
+
+    @Getter
+    @Setter
+    public static class Optimistic {
+        private int maxAttempts = 5;
+        private Duration backoffBase = Duration.ofMillis(5);
+        private Duration backoffMax = Duration.ofMillis(100);
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+        private int defaultLimit = 100;
+        private int maxLimit = 1_000;
+    }
+
+    public enum WriteMode {
+        PESSIMISTIC,
+        OPTIMISTIC,
+        ATOMIC
+    }
+
+    public enum ReconciliationMode {
+        FULL,
+        INCREMENTAL,
+        SET_BASED
+    }
+}
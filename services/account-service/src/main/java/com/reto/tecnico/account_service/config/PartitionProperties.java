@@ -0,0 +1,18 @@
+package com.reto.tecnico.account_service.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.partitions")
+public class PartitionProperties {
+
+    private boolean enabled = true;
+    private int monthsAhead = 3;
+    private Duration lockTimeout = Duration.ofSeconds(5);
+}
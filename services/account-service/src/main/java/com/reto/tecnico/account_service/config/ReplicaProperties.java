@@ -0,0 +1,19 @@
+package com.reto.tecnico.account_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.replica")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    private int maximumPoolSize = 10;
+}
@@ -0,0 +1,25 @@
+package com.reto.tecnico.account_service.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.reports")
+public class ReportProperties {
+
+    private boolean streaming = false;
+    private Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = false;
+        private Duration ttl = Duration.ofMinutes(5);
+        private long maxWeight = 200_000;
+    }
+}
@@ -1,15 +1,20 @@
 package com.reto.tecnico.account_service.controller;
 
+import com.reto.tecnico.account_service.dto.AccountBalanceResponse;
 import com.reto.tecnico.account_service.dto.AccountResponse;
+import com.reto.tecnico.account_service.dto.AccountTotalsResponse;
 import com.reto.tecnico.account_service.dto.CreateAccountRequest;
 import com.reto.tecnico.account_service.dto.UpdateAccountRequest;
 import com.reto.tecnico.account_service.service.AccountService;
+import com.reto.tecnico.account_service.service.MovementTotalsService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,6 +33,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AccountController {
 
     private final AccountService accountService;
+    private final MovementTotalsService movementTotalsService;
 
     @PostMapping
     public ResponseEntity<AccountResponse> create(@Valid @RequestBody CreateAccountRequest request) {
@@ -40,6 +46,24 @@ public class AccountController {
         return accountService.getByAccountNumber(accountNumber);
     }
 
+    @GetMapping("/{accountNumber}/saldo")
+    public AccountBalanceResponse getBalance(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha
+    ) {
+        return accountService.getBalanceAsOf(accountNumber, fecha);
+    }
+
+    @GetMapping("/{accountNumber}/totales")
+    public AccountTotalsResponse getTotals(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "day") String granularidad
+    ) {
+        return movementTotalsService.getTotals(accountNumber, desde, hasta, granularidad);
+    }
+
     @GetMapping
     public List<AccountResponse> getAll(@RequestParam(required = false) UUID clienteId) {
         return accountService.getAll(clienteId);
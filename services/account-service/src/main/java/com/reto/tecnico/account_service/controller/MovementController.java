@@ -1,22 +1,33 @@
 package com.reto.tecnico.account_service.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reto.tecnico.account_service.dto.BatchMovementRequest;
+import com.reto.tecnico.account_service.dto.BatchMovementResponse;
 import com.reto.tecnico.account_service.dto.CreateMovementRequest;
+import com.reto.tecnico.account_service.dto.MovementPage;
 import com.reto.tecnico.account_service.dto.MovementResponse;
 import com.reto.tecnico.account_service.dto.RectifyMovementResponse;
 import com.reto.tecnico.account_service.dto.UpdateMovementRequest;
 import com.reto.tecnico.account_service.dto.VoidMovementRequest;
 import com.reto.tecnico.account_service.dto.VoidMovementResponse;
+import com.reto.tecnico.account_service.service.IdempotencyService;
+import com.reto.tecnico.account_service.service.MovementCombiner;
 import com.reto.tecnico.account_service.service.MovementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -25,9 +36,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/movimientos")
@@ -35,7 +48,12 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Movement")
 public class MovementController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final MovementService movementService;
+    private final MovementCombiner movementCombiner;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Create movement", description = "Registers a new movement and updates account balance.")
@@ -43,30 +61,94 @@ public class MovementController {
             @ApiResponse(responseCode = "201", description = "Movement created"),
             @ApiResponse(responseCode = "400", description = "Validation error"),
             @ApiResponse(responseCode = "404", description = "Account not found"),
-            @ApiResponse(responseCode = "409", description = "Business rule conflict")
+            @ApiResponse(responseCode = "409", description = "Business rule conflict"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different request")
     })
-    public ResponseEntity<MovementResponse> create(@Valid @RequestBody CreateMovementRequest request) {
-        MovementResponse response = movementService.create(request);
+    public ResponseEntity<MovementResponse> create(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody CreateMovementRequest request
+    ) {
+        MovementResponse response = idempotencyKey != null
+                ? idempotencyService.create(idempotencyKey, request)
+                : movementCombiner.create(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create movements in batch",
+            description = "Posts movements grouped by account, locking each account once. Each item is accepted or rejected on its own."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-item results"),
+            @ApiResponse(responseCode = "400", description = "Validation error")
+    })
+    public BatchMovementResponse createBatch(@Valid @RequestBody BatchMovementRequest request) {
+        return movementService.createBatch(request.movements());
+    }
+
     @GetMapping
     @Operation(
             summary = "List movements",
-            description = "Filters movements by account, customer, and date range. By default only ACTIVE movements are returned."
+            description = "Filters movements by account, customer, and date range. By default only ACTIVE movements are returned. "
+                    + "Results are paged by limit; when more rows exist the X-Next-Cursor header carries the cursor for the next page."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Movements list"),
+            @ApiResponse(responseCode = "400", description = "Invalid filters, limit or cursor")
+    })
+    public ResponseEntity<List<MovementResponse>> search(
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) UUID clienteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaDesde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaHasta,
+            @RequestParam(defaultValue = "false") boolean includeVoided,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        MovementPage page = movementService.search(
+                accountNumber, clienteId, fechaDesde, fechaHasta, includeVoided, limit, cursor
+        );
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.movements());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export movements",
+            description = "Streams every movement matching the filters as newline-delimited JSON, one movement per line."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Movements stream"),
             @ApiResponse(responseCode = "400", description = "Invalid filters")
     })
-    public List<MovementResponse> search(
+    public ResponseEntity<StreamingResponseBody> export(
             @RequestParam(required = false) String accountNumber,
             @RequestParam(required = false) UUID clienteId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaDesde,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaHasta,
             @RequestParam(defaultValue = "false") boolean includeVoided
     ) {
-        return movementService.search(accountNumber, clienteId, fechaDesde, fechaHasta, includeVoided);
+        if (fechaDesde != null && fechaHasta != null && fechaDesde.isAfter(fechaHasta)) {
+            throw new IllegalArgumentException("fechaDesde must be before or equal to fechaHasta");
+        }
+
+        StreamingResponseBody body = output -> {
+            OutputStream buffered = new BufferedOutputStream(output);
+            movementService.streamSearch(accountNumber, clienteId, fechaDesde, fechaHasta, includeVoided, movement -> {
+                try {
+                    buffered.write(objectMapper.writeValueAsBytes(movement));
+                    buffered.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            buffered.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{movementId}")
@@ -1,16 +1,25 @@
 package com.reto.tecnico.account_service.controller;
 
+import com.reto.tecnico.account_service.config.ReportProperties;
 import com.reto.tecnico.account_service.dto.ReportResponse;
+import com.reto.tecnico.account_service.service.ReportQuery;
 import com.reto.tecnico.account_service.service.ReportService;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import java.time.LocalDate;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/reportes")
@@ -19,14 +28,31 @@ import org.springframework.web.bind.annotation.RestController;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportProperties reportProperties;
 
     @GetMapping
-    public ReportResponse getReport(
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Account statement",
+                    content = @Content(schema = @Schema(implementation = ReportResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid filters"),
+            @ApiResponse(responseCode = "404", description = "Customer not found")
+    })
+    public Object getReport(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaDesde,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaHasta,
             @RequestParam(required = false) UUID clienteId,
-            @RequestParam(required = false) String identificacion
+            @RequestParam(required = false) String identificacion,
+            HttpServletResponse response
     ) {
-        return reportService.getReport(fechaDesde, fechaHasta, clienteId, identificacion);
+        if (!reportProperties.isStreaming()) {
+            return reportService.getReport(fechaDesde, fechaHasta, clienteId, identificacion);
+        }
+
+        ReportQuery query = reportService.prepareReport(fechaDesde, fechaHasta, clienteId, identificacion);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return (StreamingResponseBody) output -> reportService.writeReport(query, output);
     }
 }
@@ -0,0 +1,51 @@
+package com.reto.tecnico.account_service.datasource;
+
+public final class ConsistencyToken {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<Long> REQUIRED_LSN = new ThreadLocal<>();
+
+    private ConsistencyToken() {
+    }
+
+    public static Long required() {
+        return REQUIRED_LSN.get();
+    }
+
+    static void require(Long lsn) {
+        if (lsn == null) {
+            REQUIRED_LSN.remove();
+        } else {
+            REQUIRED_LSN.set(lsn);
+        }
+    }
+
+    static void clear() {
+        REQUIRED_LSN.remove();
+    }
+
+    public static Long parse(String lsn) {
+        if (lsn == null) {
+            return null;
+        }
+        int slash = lsn.indexOf('/');
+        if (slash <= 0 || slash == lsn.length() - 1) {
+            return null;
+        }
+        try {
+            long high = Long.parseLong(lsn.substring(0, slash).trim(), 16);
+            long low = Long.parseLong(lsn.substring(slash + 1).trim(), 16);
+            if (high < 0 || high > 0xFFFFFFFFL || low < 0 || low > 0xFFFFFFFFL) {
+                return null;
+            }
+            return (high << 32) | low;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    public static String format(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase() + "/" + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase();
+    }
+}
@@ -0,0 +1,22 @@
+package com.reto.tecnico.account_service.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ConsistencyToken.require(ConsistencyToken.parse(request.getHeader(ConsistencyToken.HEADER)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ConsistencyToken.clear();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.reto.tecnico.account_service.datasource;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Slf4j
+public class ConsistencyTokenIssuer implements TransactionExecutionListener {
+
+    private static final String CURRENT_LSN_QUERY = "select pg_current_wal_lsn()::text";
+
+    private final DataSource dataSource;
+
+    public ConsistencyTokenIssuer(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || !transaction.isNewTransaction() || transaction.isReadOnly()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(dataSource)) {
+            issue();
+        }
+    }
+
+    public void issueAfterOffThreadCommit() {
+        if (!TransactionSynchronizationManager.hasResource(dataSource)) {
+            issue();
+        }
+    }
+
+    private void issue() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        Long lsn = currentLsn();
+        if (lsn == null) {
+            return;
+        }
+        Long required = ConsistencyToken.required();
+        long token = required == null ? lsn : Math.max(required, lsn);
+        ConsistencyToken.require(token);
+        response.setHeader(ConsistencyToken.HEADER, ConsistencyToken.format(token));
+    }
+
+    private Long currentLsn() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(CURRENT_LSN_QUERY)) {
+            return result.next() ? ConsistencyToken.parse(result.getString(1)) : null;
+        } catch (SQLException | CannotGetJdbcConnectionException ex) {
+            log.warn("Could not read primary WAL position", ex);
+            return null;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
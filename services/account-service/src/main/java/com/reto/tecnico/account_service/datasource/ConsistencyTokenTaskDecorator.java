@@ -0,0 +1,19 @@
+package com.reto.tecnico.account_service.datasource;
+
+import org.springframework.core.task.TaskDecorator;
+
+public class ConsistencyTokenTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Long required = ConsistencyToken.required();
+        return () -> {
+            ConsistencyToken.require(required);
+            try {
+                runnable.run();
+            } finally {
+                ConsistencyToken.clear();
+            }
+        };
+    }
+}
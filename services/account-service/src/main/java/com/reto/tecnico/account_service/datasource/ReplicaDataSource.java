@@ -0,0 +1,69 @@
+package com.reto.tecnico.account_service.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource {
+
+    private static final String REPLAY_LSN_QUERY = "select pg_last_wal_replay_lsn()::text";
+
+    private final DataSource replica;
+    private final DataSource primary;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaDataSource(DataSource replica, DataSource primary, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.primary = primary;
+        this.replicaReads = meterRegistry.counter("datasource.reads", "target", "replica");
+        this.primaryReads = meterRegistry.counter("datasource.reads", "target", "primary");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection;
+        try {
+            connection = replica.getConnection();
+        } catch (SQLException ex) {
+            log.warn("Replica unavailable, reading from primary", ex);
+            return fromPrimary();
+        }
+        Long required = ConsistencyToken.required();
+        if (required != null && !caughtUp(connection, required)) {
+            connection.close();
+            return fromPrimary();
+        }
+        replicaReads.increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    private boolean caughtUp(Connection connection, long required) {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(REPLAY_LSN_QUERY)) {
+            Long replayed = result.next() ? ConsistencyToken.parse(result.getString(1)) : null;
+            return replayed != null && replayed >= required;
+        } catch (SQLException ex) {
+            log.warn("Could not read replica replay position", ex);
+            return false;
+        }
+    }
+
+    private Connection fromPrimary() throws SQLException {
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+}
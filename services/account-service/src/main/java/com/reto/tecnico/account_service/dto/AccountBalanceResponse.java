@@ -0,0 +1,11 @@
+package com.reto.tecnico.account_service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record AccountBalanceResponse(
+        String accountNumber,
+        LocalDate fecha,
+        BigDecimal balance
+) {
+}
@@ -0,0 +1,17 @@
+package com.reto.tecnico.account_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record BatchMovementItemResponse(
+        @Schema(description = "Position of the item in the request", example = "0")
+        int index,
+        @Schema(description = "Account number", example = "ACC-1001")
+        String accountNumber,
+        @Schema(description = "Whether the movement was posted", example = "true")
+        boolean accepted,
+        @Schema(description = "Posted movement", nullable = true)
+        MovementResponse movement,
+        @Schema(description = "Rejection reason", example = "Saldo no disponible", nullable = true)
+        String error
+) {
+}
@@ -0,0 +1,14 @@
+package com.reto.tecnico.account_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BatchMovementRequest(
+        @Schema(description = "Movements to post, applied in order per account")
+        @NotEmpty @Size(max = 5000) List<@Valid @NotNull CreateMovementRequest> movements
+) {
+}
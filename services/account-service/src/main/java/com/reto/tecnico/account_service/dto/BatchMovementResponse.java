@@ -0,0 +1,14 @@
+package com.reto.tecnico.account_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+public record BatchMovementResponse(
+        @Schema(description = "Number of accepted movements", example = "998")
+        int accepted,
+        @Schema(description = "Number of rejected movements", example = "2")
+        int rejected,
+        @Schema(description = "Per-item results in request order")
+        List<BatchMovementItemResponse> results
+) {
+}
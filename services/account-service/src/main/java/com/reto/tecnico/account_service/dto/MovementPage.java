@@ -0,0 +1,9 @@
+package com.reto.tecnico.account_service.dto;
+
+import java.util.List;
+
+public record MovementPage(
+        List<MovementResponse> movements,
+        String nextCursor
+) {
+}
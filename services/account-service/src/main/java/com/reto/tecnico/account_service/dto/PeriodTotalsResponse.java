@@ -0,0 +1,15 @@
+package com.reto.tecnico.account_service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record PeriodTotalsResponse(
+        LocalDate periodStart,
+        LocalDate periodEnd,
+        long depositCount,
+        BigDecimal depositAmount,
+        long withdrawalCount,
+        BigDecimal withdrawalAmount,
+        BigDecimal closingBalance
+) {
+}
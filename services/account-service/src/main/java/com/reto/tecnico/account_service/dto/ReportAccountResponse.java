@@ -8,6 +8,7 @@ public record ReportAccountResponse(
         String accountType,
         BigDecimal initialBalance,
         BigDecimal currentBalance,
+        BigDecimal openingBalance,
         List<MovementResponse> movements
 ) {
 }
@@ -5,22 +5,27 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.UUID;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(name = "movements")
 @Getter
 @Setter
 @NoArgsConstructor
-public class Movement {
+public class Movement implements Persistable<UUID> {
 
     @Id
     @Column(name = "movement_id", nullable = false)
@@ -29,6 +34,9 @@ public class Movement {
     @Column(name = "account_number", nullable = false)
     private String accountNumber;
 
+    @Column(name = "cliente_id", nullable = false)
+    private UUID clienteId;
+
     @Column(name = "movement_date", nullable = false)
     private OffsetDateTime movementDate;
 
@@ -61,6 +69,27 @@ public class Movement {
     @Column(name = "replacement_movement_id")
     private UUID replacementMovementId;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public UUID getId() {
+        return movementId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+
     @PrePersist
     void onCreate() {
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
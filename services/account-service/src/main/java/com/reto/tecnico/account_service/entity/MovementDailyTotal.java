@@ -0,0 +1,40 @@
+package com.reto.tecnico.account_service.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "movement_daily_totals")
+@Getter
+@Setter
+@NoArgsConstructor
+public class MovementDailyTotal {
+
+    @EmbeddedId
+    private MovementDailyTotalId id;
+
+    @Column(name = "deposit_count", nullable = false)
+    private long depositCount;
+
+    @Column(name = "deposit_amount", nullable = false)
+    private BigDecimal depositAmount;
+
+    @Column(name = "withdrawal_count", nullable = false)
+    private long withdrawalCount;
+
+    @Column(name = "withdrawal_amount", nullable = false)
+    private BigDecimal withdrawalAmount;
+
+    @Column(name = "closing_balance", nullable = false)
+    private BigDecimal closingBalance;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.reto.tecnico.account_service.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.reto.tecnico.account_service.id;
+
+import java.util.UUID;
+
+public interface IdGenerator {
+
+    UUID next();
+}
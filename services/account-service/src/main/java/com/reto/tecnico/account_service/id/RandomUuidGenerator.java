@@ -0,0 +1,11 @@
+package com.reto.tecnico.account_service.id;
+
+import java.util.UUID;
+
+public class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public UUID next() {
+        return UUID.randomUUID();
+    }
+}
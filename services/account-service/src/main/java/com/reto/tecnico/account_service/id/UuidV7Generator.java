@@ -0,0 +1,40 @@
+package com.reto.tecnico.account_service.id;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class UuidV7Generator implements IdGenerator {
+
+    private static final int MAX_SEQUENCE = 0xFFF;
+
+    private final Clock clock;
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    public UuidV7Generator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID next() {
+        State current = state.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long millis = clock.millis();
+        if (millis > current.millis) {
+            current.millis = millis;
+            current.sequence = random.nextInt(MAX_SEQUENCE >> 1);
+        } else if (++current.sequence > MAX_SEQUENCE) {
+            current.millis++;
+            current.sequence = 0;
+        }
+
+        long mostSigBits = (current.millis << 16) | 0x7000L | current.sequence;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static final class State {
+        private long millis = -1;
+        private int sequence;
+    }
+}
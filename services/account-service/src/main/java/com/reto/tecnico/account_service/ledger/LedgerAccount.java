@@ -0,0 +1,42 @@
+package com.reto.tecnico.account_service.ledger;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+final class LedgerAccount {
+
+    private final UUID clienteId;
+    private final boolean active;
+    private long balance;
+    private OffsetDateTime lastMovementAt;
+
+    LedgerAccount(UUID clienteId, boolean active, long balance) {
+        this.clienteId = clienteId;
+        this.active = active;
+        this.balance = balance;
+    }
+
+    UUID clienteId() {
+        return clienteId;
+    }
+
+    boolean active() {
+        return active;
+    }
+
+    long balance() {
+        return balance;
+    }
+
+    void balance(long balance) {
+        this.balance = balance;
+    }
+
+    OffsetDateTime nextMovementAt(OffsetDateTime now) {
+        OffsetDateTime next = lastMovementAt == null || now.isAfter(lastMovementAt)
+                ? now
+                : lastMovementAt.plusNanos(1_000);
+        lastMovementAt = next;
+        return next;
+    }
+}
@@ -0,0 +1,486 @@
+package com.reto.tecnico.account_service.ledger;
+
+import com.reto.tecnico.account_service.config.LedgerProperties;
+import com.reto.tecnico.account_service.dto.CreateMovementRequest;
+import com.reto.tecnico.account_service.dto.MovementResponse;
+import com.reto.tecnico.account_service.entity.Account;
+import com.reto.tecnico.account_service.entity.Movement;
+import com.reto.tecnico.account_service.entity.MovementStatus;
+import com.reto.tecnico.account_service.entity.MovementType;
+import com.reto.tecnico.account_service.exception.ConflictException;
+import com.reto.tecnico.account_service.exception.NotFoundException;
+import com.reto.tecnico.account_service.exception.ServiceUnavailableException;
+import com.reto.tecnico.account_service.id.IdGenerator;
+import com.reto.tecnico.account_service.repository.AccountRepository;
+import com.reto.tecnico.account_service.repository.MovementRepository;
+import com.reto.tecnico.account_service.service.Money;
+import com.reto.tecnico.account_service.service.MovementTotalsService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+public class LedgerEngine implements SmartLifecycle {
+
+    private final AccountRepository accountRepository;
+    private final MovementRepository movementRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerProperties ledgerProperties;
+    private final IdGenerator idGenerator;
+    private final MovementTotalsService movementTotalsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final Map<String, LedgerAccount> accounts = new HashMap<>();
+    private BlockingQueue<LedgerCommand> commands;
+    private LedgerWriter writer;
+    private LedgerJournal journal;
+    private Thread engineThread;
+    private Thread writerThread;
+    private volatile boolean running;
+    private volatile boolean halted;
+    private volatile String haltReason;
+    private volatile boolean journalFull;
+
+    public LedgerEngine(
+            AccountRepository accountRepository,
+            MovementRepository movementRepository,
+            TransactionTemplate transactionTemplate,
+            LedgerProperties ledgerProperties,
+            IdGenerator idGenerator,
+            MovementTotalsService movementTotalsService,
+            ApplicationEventPublisher eventPublisher,
+            Clock clock
+    ) {
+        this.accountRepository = accountRepository;
+        this.movementRepository = movementRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ledgerProperties = ledgerProperties;
+        this.idGenerator = idGenerator;
+        this.movementTotalsService = movementTotalsService;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    public List<CompletableFuture<MovementResponse>> postAll(List<CreateMovementRequest> requests) {
+        List<PostCommand> submitted = requests.stream().map(this::submit).toList();
+        long deadline = deadline();
+        submitted.forEach(command -> settle(command, deadline));
+        return submitted.stream().map(PostCommand::result).toList();
+    }
+
+    public MovementResponse post(CreateMovementRequest request) {
+        PostCommand command = submit(request);
+        return await(command, command.result());
+    }
+
+    public <T> T exclusive(Supplier<String> accountResolver, Supplier<T> action) {
+        if (!running) {
+            return action.get();
+        }
+        ExclusiveCommand<T> command = new ExclusiveCommand<>(accountResolver, action, new CompletableFuture<>(),
+                new AtomicBoolean());
+        enqueue(command);
+        return await(command, command.result());
+    }
+
+    private PostCommand submit(CreateMovementRequest request) {
+        PostCommand command = new PostCommand(request, new CompletableFuture<>(), new AtomicBoolean());
+        enqueue(command);
+        return command;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !ledgerProperties.isEnabled()) {
+            return;
+        }
+
+        journal = openJournal();
+        writer = new LedgerWriter(
+                accountRepository, movementRepository, transactionTemplate, ledgerProperties, journal,
+                movementTotalsService, eventPublisher, this::writerFailed
+        );
+        if (journal != null) {
+            int replayed = writer.replay(journal.unflushed());
+            journal.reset();
+            log.info("Ledger journal replayed {} unflushed movements", replayed);
+        }
+
+        accounts.clear();
+        for (Account account : accountRepository.findByActiveTrue()) {
+            accounts.put(account.getAccountNumber(), toLedgerAccount(account));
+        }
+
+        commands = new ArrayBlockingQueue<>(ledgerProperties.getRingSize());
+        halted = false;
+        haltReason = null;
+        journalFull = false;
+        writerThread = new Thread(writer, "ledger-writer");
+        engineThread = new Thread(this::process, "ledger-engine");
+        running = true;
+        writerThread.start();
+        engineThread.start();
+        log.info("Ledger engine started with {} active accounts", accounts.size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        try {
+            engineThread.join();
+            writer.shutdown();
+            writerThread.join();
+            if (journal != null) {
+                if (!halted) {
+                    journal.reset();
+                }
+                journal.close();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            log.warn("Failed to close ledger journal", ex);
+        }
+        log.info("Ledger engine stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void enqueue(LedgerCommand command) {
+        if (!running || halted) {
+            throw notAccepting();
+        }
+        if (journalFull && command instanceof PostCommand) {
+            throw journalFullRejection();
+        }
+        try {
+            commands.put(command);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while submitting to the ledger engine", ex);
+        }
+        if ((!running || halted) && commands.remove(command)) {
+            command.result().completeExceptionally(notAccepting());
+        }
+    }
+
+    private ServiceUnavailableException notAccepting() {
+        return new ServiceUnavailableException(halted ? haltReason : "Ledger engine is not running");
+    }
+
+    private static ServiceUnavailableException journalFullRejection() {
+        return new ServiceUnavailableException(
+                "Ledger journal is full and cannot roll over until pending movements are persisted");
+    }
+
+    private LedgerJournal openJournal() {
+        LedgerProperties.Journal properties = ledgerProperties.getJournal();
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        try {
+            return LedgerJournal.open(Path.of(properties.getPath()), Math.toIntExact(properties.getSize().toBytes()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open ledger journal " + properties.getPath(), ex);
+        }
+    }
+
+    private void process() {
+        List<LedgerCommand> batch = new ArrayList<>();
+        List<Acknowledgement> acknowledgements = new ArrayList<>();
+        while (running || !commands.isEmpty()) {
+            try {
+                LedgerCommand first = commands.poll(100, TimeUnit.MILLISECONDS);
+                if (journalFull) {
+                    rollOver(Duration.ZERO);
+                }
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                commands.drainTo(batch);
+                for (LedgerCommand command : batch) {
+                    if (!command.taken().compareAndSet(false, true)) {
+                        continue;
+                    }
+                    if (halted) {
+                        command.result().completeExceptionally(notAccepting());
+                    } else {
+                        execute(command, acknowledgements);
+                    }
+                }
+                acknowledge(acknowledgements);
+                batch.clear();
+                if (halted) {
+                    break;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        LedgerCommand command;
+        while ((command = commands.poll()) != null) {
+            command.result().completeExceptionally(notAccepting());
+        }
+    }
+
+    private void execute(LedgerCommand command, List<Acknowledgement> acknowledgements) {
+        try {
+            switch (command) {
+                case PostCommand post -> acknowledgements.add(new Acknowledgement(post.result(), apply(post.request())));
+                case ExclusiveCommand<?> exclusive -> {
+                    acknowledge(acknowledgements);
+                    runExclusive(exclusive);
+                }
+            }
+        } catch (RuntimeException ex) {
+            command.result().completeExceptionally(ex);
+        }
+    }
+
+    private void acknowledge(List<Acknowledgement> acknowledgements) {
+        if (acknowledgements.isEmpty()) {
+            return;
+        }
+        if (journal == null && halted) {
+            acknowledgements.forEach(acknowledgement -> acknowledgement.result().completeExceptionally(notAccepting()));
+            acknowledgements.clear();
+            return;
+        }
+        if (journal != null && !halted) {
+            try {
+                journal.force();
+            } catch (RuntimeException ex) {
+                halt(ex);
+            }
+        }
+        acknowledgements.forEach(acknowledgement -> acknowledgement.result().complete(acknowledgement.movement()));
+        acknowledgements.clear();
+    }
+
+    private void halt(RuntimeException cause) {
+        log.error("Ledger journal fsync failed, halting the engine once applied movements are persisted", cause);
+        haltReason = "Ledger engine halted after a journal failure";
+        halted = true;
+        if (!writer.awaitPersisted(ledgerProperties.getPersistTimeout())) {
+            log.error("Ledger movements are still unpersisted, they stay in the journal for replay");
+        }
+    }
+
+    private void writerFailed() {
+        log.error("Ledger writer could not persist movements, halting the engine");
+        haltReason = "Ledger engine halted after a persistence failure";
+        halted = true;
+    }
+
+    private MovementResponse apply(CreateMovementRequest request) {
+        LedgerAccount account = accounts.computeIfAbsent(request.accountNumber(), this::load);
+        if (account == null) {
+            throw new NotFoundException("Account not found");
+        }
+        if (!account.active()) {
+            throw new ConflictException("Account inactive");
+        }
+
+        long amount = Money.toCents(request.amount());
+        long balance = request.movementType() == MovementType.RETIRO
+                ? Math.subtractExact(account.balance(), amount)
+                : Math.addExact(account.balance(), amount);
+        if (balance < 0) {
+            throw new ConflictException("Saldo no disponible");
+        }
+        OffsetDateTime now = account.nextMovementAt(OffsetDateTime.now(clock).truncatedTo(ChronoUnit.MICROS));
+        Movement movement = new Movement();
+        movement.setMovementId(idGenerator.next());
+        movement.setAccountNumber(request.accountNumber());
+        movement.setClienteId(account.clienteId());
+        movement.setMovementType(request.movementType());
+        movement.setAmount(request.amount());
+        movement.setBalanceAfter(Money.toDecimal(balance));
+        movement.setMovementDate(now);
+        movement.setCreatedAt(now);
+        movement.setStatus(MovementStatus.ACTIVE);
+        int journalOffset = journal(movement);
+        account.balance(balance);
+        writer.enqueue(movement, journalOffset);
+
+        return new MovementResponse(
+                movement.getMovementId(),
+                movement.getAccountNumber(),
+                movement.getMovementType(),
+                movement.getAmount(),
+                movement.getBalanceAfter(),
+                movement.getMovementDate(),
+                movement.getStatus(),
+                null,
+                null,
+                null,
+                null
+        );
+    }
+
+    private int journal(Movement movement) {
+        if (journal == null) {
+            return 0;
+        }
+        if (!journal.hasRoom(movement)) {
+            Duration timeout = journalFull ? Duration.ZERO : ledgerProperties.getPersistTimeout();
+            if (!rollOver(timeout)) {
+                throw journalFullRejection();
+            }
+        }
+        return journal.append(movement);
+    }
+
+    private boolean rollOver(Duration timeout) {
+        if (!writer.awaitPersisted(timeout)) {
+            if (!journalFull) {
+                log.error("Ledger journal is full and pending movements are not persisted, rejecting new movements");
+            }
+            journalFull = true;
+            return false;
+        }
+        journal.reset();
+        if (journalFull) {
+            log.info("Ledger journal rolled over, accepting movements again");
+        }
+        journalFull = false;
+        return true;
+    }
+
+    private <T> void runExclusive(ExclusiveCommand<T> command) {
+        awaitPersisted();
+        String accountNumber = command.accountResolver().get();
+        try {
+            command.result().complete(command.action().get());
+        } finally {
+            if (accountNumber != null) {
+                accounts.remove(accountNumber);
+            }
+        }
+    }
+
+    private void awaitPersisted() {
+        if (!writer.awaitPersisted(ledgerProperties.getPersistTimeout())) {
+            throw new ServiceUnavailableException("Ledger persistence is behind, try again later");
+        }
+    }
+
+    private LedgerAccount load(String accountNumber) {
+        return accountRepository.findById(accountNumber)
+                .map(this::toLedgerAccount)
+                .orElse(null);
+    }
+
+    private LedgerAccount toLedgerAccount(Account account) {
+        return new LedgerAccount(
+                account.getClienteId(),
+                account.isActive(),
+                Money.toCents(account.getCurrentBalance())
+        );
+    }
+
+    private <T> T await(LedgerCommand command, CompletableFuture<T> result) {
+        settle(command, deadline());
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void settle(LedgerCommand command, long deadline) {
+        CompletableFuture<?> result = command.result();
+        if (!completes(result, deadline) && command.taken().compareAndSet(false, true)) {
+            result.completeExceptionally(
+                    new ServiceUnavailableException("Ledger engine did not accept the request in time"));
+            return;
+        }
+        if (!completes(result, deadline())) {
+            result.completeExceptionally(
+                    new ServiceUnavailableException("Ledger engine did not confirm the request in time"));
+        }
+    }
+
+    private boolean completes(CompletableFuture<?> result, long deadline) {
+        try {
+            result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException ex) {
+            return true;
+        } catch (TimeoutException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the ledger engine", ex);
+        }
+    }
+
+    private long deadline() {
+        return System.nanoTime() + ledgerProperties.getRequestTimeout().toNanos();
+    }
+
+    private sealed interface LedgerCommand permits PostCommand, ExclusiveCommand {
+        CompletableFuture<?> result();
+
+        AtomicBoolean taken();
+    }
+
+    private record PostCommand(
+            CreateMovementRequest request,
+            CompletableFuture<MovementResponse> result,
+            AtomicBoolean taken
+    ) implements LedgerCommand {
+    }
+
+    private record Acknowledgement(CompletableFuture<MovementResponse> result, MovementResponse movement) {
+    }
+
+    private record ExclusiveCommand<T>(
+            Supplier<String> accountResolver,
+            Supplier<T> action,
+            CompletableFuture<T> result,
+            AtomicBoolean taken
+    ) implements LedgerCommand {
+    }
+}
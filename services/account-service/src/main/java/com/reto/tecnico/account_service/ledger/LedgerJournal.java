@@ -0,0 +1,165 @@
+package com.reto.tecnico.account_service.ledger;
+
+import com.reto.tecnico.account_service.entity.Movement;
+import com.reto.tecnico.account_service.entity.MovementStatus;
+import com.reto.tecnico.account_service.entity.MovementType;
+import com.reto.tecnico.account_service.service.Money;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+final class LedgerJournal implements Closeable {
+
+    private static final int HEADER_SIZE = 64;
+    private static final int ENTRY_HEADER_SIZE = 8;
+    private static final int FIXED_PAYLOAD_SIZE = 16 + 8 + 8 + 8 + 1 + 2;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private int position = HEADER_SIZE;
+
+    private LedgerJournal(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    static LedgerJournal open(Path path, int capacity) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        LedgerJournal journal = new LedgerJournal(channel, buffer, capacity);
+        if (journal.flushedPosition() < HEADER_SIZE || journal.flushedPosition() >= capacity) {
+            journal.reset();
+        }
+        return journal;
+    }
+
+    List<Movement> unflushed() {
+        List<Movement> movements = new ArrayList<>();
+        int offset = flushedPosition();
+        while (offset + ENTRY_HEADER_SIZE <= capacity) {
+            int length = buffer.getInt(offset);
+            if (length < FIXED_PAYLOAD_SIZE || offset + ENTRY_HEADER_SIZE + length > capacity) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + ENTRY_HEADER_SIZE, payload);
+            if (buffer.getInt(offset + 4) != checksum(payload)) {
+                break;
+            }
+            movements.add(decode(payload));
+            offset += ENTRY_HEADER_SIZE + length;
+        }
+        return movements;
+    }
+
+    boolean hasRoom(Movement movement) {
+        return position + ENTRY_HEADER_SIZE + payloadSize(movement) + 4 <= capacity;
+    }
+
+    int append(Movement movement) {
+        byte[] payload = encode(movement);
+        buffer.putInt(position + 4, checksum(payload));
+        buffer.put(position + ENTRY_HEADER_SIZE, payload);
+        buffer.putInt(position + ENTRY_HEADER_SIZE + payload.length, 0);
+        buffer.putInt(position, payload.length);
+        position += ENTRY_HEADER_SIZE + payload.length;
+        return position;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void markFlushed(int offset) {
+        buffer.putInt(0, offset);
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    void reset() {
+        position = HEADER_SIZE;
+        buffer.putInt(HEADER_SIZE, 0);
+        buffer.putInt(0, HEADER_SIZE);
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int flushedPosition() {
+        return buffer.getInt(0);
+    }
+
+    private int payloadSize(Movement movement) {
+        return FIXED_PAYLOAD_SIZE + movement.getAccountNumber().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private byte[] encode(Movement movement) {
+        byte[] accountNumber = movement.getAccountNumber().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(FIXED_PAYLOAD_SIZE + accountNumber.length);
+        payload.putLong(movement.getMovementId().getMostSignificantBits());
+        payload.putLong(movement.getMovementId().getLeastSignificantBits());
+        payload.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, movement.getMovementDate().toInstant()));
+        payload.putLong(Money.toCents(movement.getAmount()));
+        payload.putLong(Money.toCents(movement.getBalanceAfter()));
+        payload.put((byte) movement.getMovementType().ordinal());
+        payload.putShort((short) accountNumber.length);
+        payload.put(accountNumber);
+        return payload.array();
+    }
+
+    private Movement decode(byte[] bytes) {
+        ByteBuffer payload = ByteBuffer.wrap(bytes);
+        UUID movementId = new UUID(payload.getLong(), payload.getLong());
+        OffsetDateTime movementDate = Instant.EPOCH.plus(payload.getLong(), ChronoUnit.MICROS).atOffset(ZoneOffset.UTC);
+        BigDecimal amount = Money.toDecimal(payload.getLong());
+        BigDecimal balanceAfter = Money.toDecimal(payload.getLong());
+        MovementType movementType = MovementType.values()[payload.get()];
+        byte[] accountNumber = new byte[payload.getShort()];
+        payload.get(accountNumber);
+
+        Movement movement = new Movement();
+        movement.setMovementId(movementId);
+        movement.setAccountNumber(new String(accountNumber, StandardCharsets.UTF_8));
+        movement.setMovementType(movementType);
+        movement.setAmount(amount);
+        movement.setBalanceAfter(balanceAfter);
+        movement.setMovementDate(movementDate);
+        movement.setCreatedAt(movementDate);
+        movement.setStatus(MovementStatus.ACTIVE);
+        return movement;
+    }
+
+
+    private int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
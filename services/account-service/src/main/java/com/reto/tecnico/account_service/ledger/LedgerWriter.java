@@ -0,0 +1,198 @@
+package com.reto.tecnico.account_service.ledger;
+
+import com.reto.tecnico.account_service.config.LedgerProperties;
+import com.reto.tecnico.account_service.entity.Movement;
+import com.reto.tecnico.account_service.repository.AccountRepository;
+import com.reto.tecnico.account_service.repository.MovementRepository;
+import com.reto.tecnico.account_service.service.AccountActivityEvent;
+import com.reto.tecnico.account_service.service.AccountChangedEvent;
+import com.reto.tecnico.account_service.service.MovementTotalsService;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+class LedgerWriter implements Runnable {
+
+    private final AccountRepository accountRepository;
+    private final MovementRepository movementRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerProperties ledgerProperties;
+    private final LedgerJournal journal;
+    private final MovementTotalsService movementTotalsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Runnable onFailure;
+    private final BlockingQueue<PendingWrite> pending = new LinkedBlockingQueue<>();
+    private final Object progress = new Object();
+    private long enqueued;
+    private long persisted;
+    private volatile boolean running = true;
+    private volatile boolean failed;
+
+    LedgerWriter(
+            AccountRepository accountRepository,
+            MovementRepository movementRepository,
+            TransactionTemplate transactionTemplate,
+            LedgerProperties ledgerProperties,
+            LedgerJournal journal,
+            MovementTotalsService movementTotalsService,
+            ApplicationEventPublisher eventPublisher,
+            Runnable onFailure
+    ) {
+        this.accountRepository = accountRepository;
+        this.movementRepository = movementRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ledgerProperties = ledgerProperties;
+        this.journal = journal;
+        this.movementTotalsService = movementTotalsService;
+        this.eventPublisher = eventPublisher;
+        this.onFailure = onFailure;
+    }
+
+    void enqueue(Movement movement, int journalOffset) {
+        pending.add(new PendingWrite(++enqueued, movement, journalOffset));
+    }
+
+    int replay(List<Movement> movements) {
+        if (movements.isEmpty()) {
+            return 0;
+        }
+        List<Movement> missing = unpersisted(movements);
+        if (!missing.isEmpty()) {
+            Map<String, UUID> owners = new HashMap<>();
+            accountRepository.findAllById(missing.stream().map(Movement::getAccountNumber).distinct().toList())
+                    .forEach(account -> owners.put(account.getAccountNumber(), account.getClienteId()));
+            missing.forEach(movement -> movement.setClienteId(owners.get(movement.getAccountNumber())));
+            write(missing);
+        }
+        return missing.size();
+    }
+
+    boolean awaitPersisted(Duration timeout) {
+        long target = enqueued;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            while (persisted < target && !failed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for ledger persistence", ex);
+                }
+            }
+            return persisted >= target;
+        }
+    }
+
+    void shutdown() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingWrite first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, ledgerProperties.getPersistBatchSize() - 1);
+                if (!persist(batch)) {
+                    onFailure.run();
+                    synchronized (progress) {
+                        failed = true;
+                        progress.notifyAll();
+                    }
+                    return;
+                }
+                PendingWrite last = batch.get(batch.size() - 1);
+                if (journal != null && last.journalOffset() > 0) {
+                    journal.markFlushed(last.journalOffset());
+                }
+                synchronized (progress) {
+                    persisted = last.sequence();
+                    progress.notifyAll();
+                }
+                batch.clear();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean persist(List<PendingWrite> batch) throws InterruptedException {
+        List<Movement> movements = batch.stream().map(PendingWrite::movement).toList();
+        int maxAttempts = ledgerProperties.getPersistMaxAttempts();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<Movement> missing = attempt == 1 ? movements : unpersisted(movements);
+                if (!missing.isEmpty()) {
+                    write(missing);
+                }
+                return true;
+            } catch (RuntimeException ex) {
+                if (attempt >= maxAttempts) {
+                    log.error("Ledger persistence failed for {} movements after {} attempts, giving up",
+                            movements.size(), attempt, ex);
+                    return false;
+                }
+                log.error("Ledger persistence failed for {} movements, retrying", movements.size(), ex);
+                Thread.sleep(ledgerProperties.getPersistRetryDelay().toMillis());
+            }
+        }
+    }
+
+    private List<Movement> unpersisted(List<Movement> movements) {
+        Set<UUID> persistedIds = new HashSet<>();
+        movementRepository.findAllById(movements.stream().map(Movement::getMovementId).toList())
+                .forEach(movement -> persistedIds.add(movement.getMovementId()));
+        return movements.stream()
+                .filter(movement -> !persistedIds.contains(movement.getMovementId()))
+                .toList();
+    }
+
+    private void write(List<Movement> movements) {
+        Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        Map<String, OffsetDateTime> affectedFrom = new LinkedHashMap<>();
+        Map<String, UUID> owners = new HashMap<>();
+        for (Movement movement : movements) {
+            balances.put(movement.getAccountNumber(), movement.getBalanceAfter());
+            owners.put(movement.getAccountNumber(), movement.getClienteId());
+            affectedFrom.putIfAbsent(movement.getAccountNumber(), movement.getMovementDate());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            movementRepository.saveAll(movements);
+            balances.forEach(accountRepository::overwriteBalance);
+            affectedFrom.forEach((accountNumber, from) -> {
+                movementTotalsService.refreshFrom(accountNumber, from);
+                eventPublisher.publishEvent(
+                        AccountActivityEvent.forAccount(owners.get(accountNumber), accountNumber, from));
+                eventPublisher.publishEvent(AccountChangedEvent.evicted(accountNumber));
+            });
+        });
+    }
+
+    private record PendingWrite(long sequence, Movement movement, int journalOffset) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.reto.tecnico.account_service.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface AccountBalanceUpdate {
+
+    BigDecimal getBalance();
+
+    UUID getClienteId();
+}
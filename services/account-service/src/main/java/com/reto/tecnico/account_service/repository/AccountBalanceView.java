@@ -0,0 +1,10 @@
+package com.reto.tecnico.account_service.repository;
+
+import java.math.BigDecimal;
+
+public interface AccountBalanceView {
+
+    String getAccountNumber();
+
+    BigDecimal getBalance();
+}
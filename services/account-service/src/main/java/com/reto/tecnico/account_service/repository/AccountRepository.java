@@ -2,11 +2,13 @@ package com.reto.tecnico.account_service.repository;
 
 import com.reto.tecnico.account_service.entity.Account;
 import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,7 +16,43 @@ public interface AccountRepository extends JpaRepository<Account, String> {
 
     List<Account> findByClienteId(UUID clienteId);
 
+    List<Account> findByClienteIdOrderByAccountNumberAsc(UUID clienteId);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select a from Account a where a.accountNumber = :accountNumber")
     Optional<Account> findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select a from Account a where a.accountNumber = :accountNumber")
+    Optional<Account> findByAccountNumberWithVersionIncrement(@Param("accountNumber") String accountNumber);
+
+    @Query(value = """
+            update accounts
+            set current_balance = current_balance + :delta,
+                updated_at = now(),
+                version = version + 1
+            where account_number = :accountNumber
+              and active
+              and current_balance + :delta >= 0
+            returning current_balance as balance, cliente_id as clienteId
+            """, nativeQuery = true)
+    Optional<AccountBalanceUpdate> applyBalanceDelta(
+            @Param("accountNumber") String accountNumber,
+            @Param("delta") BigDecimal delta
+    );
+
+    List<Account> findByActiveTrue();
+
+    @Modifying
+    @Query(value = """
+            update accounts
+            set current_balance = :balance,
+                updated_at = now(),
+                version = version + 1
+            where account_number = :accountNumber
+            """, nativeQuery = true)
+    int overwriteBalance(
+            @Param("accountNumber") String accountNumber,
+            @Param("balance") BigDecimal balance
+    );
 }
@@ -0,0 +1,96 @@
+package com.reto.tecnico.account_service.repository;
+
+import com.reto.tecnico.account_service.entity.BalanceCheckpoint;
+import com.reto.tecnico.account_service.entity.BalanceCheckpointId;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, BalanceCheckpointId> {
+
+    Optional<BalanceCheckpoint> findFirstByIdAccountNumberAndIdCheckpointDateLessThanOrderByIdCheckpointDateDesc(
+            String accountNumber,
+            LocalDate checkpointDate
+    );
+
+    @Query(value = """
+            select a.account_number as accountNumber,
+                   coalesce(cp.closing_balance, a.initial_balance) + coalesce(tail.delta, 0) as balance
+            from accounts a
+            left join lateral (
+                select c.checkpoint_date, c.closing_balance
+                from balance_checkpoints c
+                where c.account_number = a.account_number
+                  and c.checkpoint_date < :day
+                order by c.checkpoint_date desc
+                limit 1
+            ) cp on true
+            left join lateral (
+                select sum(case when m.movement_type = 'RETIRO' then -m.amount else m.amount end) as delta
+                from movements m
+                where m.account_number = a.account_number
+                  and m.movement_date < :dayEnd
+                  and (cp.checkpoint_date is null
+                       or m.movement_date >= (cp.checkpoint_date + 1)::timestamp at time zone 'UTC')
+            ) tail on true
+            where a.account_number in (:accountNumbers)
+            """, nativeQuery = true)
+    List<AccountBalanceView> findClosingBalances(
+            @Param("accountNumbers") Collection<String> accountNumbers,
+            @Param("day") LocalDate day,
+            @Param("dayEnd") OffsetDateTime dayEnd
+    );
+
+    @Modifying
+    @Query(value = """
+            insert into balance_checkpoints (account_number, checkpoint_date, closing_balance, updated_at)
+            select a.account_number, :day, coalesce(cp.closing_balance, a.initial_balance) + tail.delta, now()
+            from accounts a
+            left join lateral (
+                select c.checkpoint_date, c.closing_balance
+                from balance_checkpoints c
+                where c.account_number = a.account_number
+                  and c.checkpoint_date < :day
+                order by c.checkpoint_date desc
+                limit 1
+            ) cp on true
+            join lateral (
+                select count(*) as movements,
+                       coalesce(sum(case when m.movement_type = 'RETIRO' then -m.amount else m.amount end), 0) as delta
+                from movements m
+                where m.account_number = a.account_number
+                  and m.movement_date < :dayEnd
+                  and (cp.checkpoint_date is null
+                       or m.movement_date >= (cp.checkpoint_date + 1)::timestamp at time zone 'UTC')
+            ) tail on tail.movements > 0
+            on conflict (account_number, checkpoint_date) do update
+                set closing_balance = excluded.closing_balance,
+                    updated_at = excluded.updated_at
+            """, nativeQuery = true)
+    int upsertClosingBalances(@Param("day") LocalDate day, @Param("dayEnd") OffsetDateTime dayEnd);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            update balance_checkpoints c
+            set closing_balance = coalesce((
+                    select m.balance_after
+                    from movements m
+                    where m.account_number = c.account_number
+                      and m.movement_date < (c.checkpoint_date + 1)::timestamp at time zone 'UTC'
+                    order by m.movement_date desc, m.created_at desc, m.movement_id desc
+                    limit 1
+                ), a.initial_balance),
+                updated_at = now()
+            from accounts a
+            where a.account_number = c.account_number
+              and c.account_number = :accountNumber
+              and c.checkpoint_date >= :fromDate
+            """, nativeQuery = true)
+    int refreshFrom(@Param("accountNumber") String accountNumber, @Param("fromDate") LocalDate fromDate);
+}
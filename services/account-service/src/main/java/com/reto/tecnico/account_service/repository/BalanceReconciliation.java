@@ -0,0 +1,12 @@
+package com.reto.tecnico.account_service.repository;
+
+import java.math.BigDecimal;
+
+public interface BalanceReconciliation {
+
+    boolean getNegative();
+
+    BigDecimal getClosingBalance();
+
+    long getUpdatedMovements();
+}
@@ -0,0 +1,43 @@
+package com.reto.tecnico.account_service.repository;
+
+import com.reto.tecnico.account_service.entity.IdempotencyRecord;
+import java.time.OffsetDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query(value = """
+            insert into idempotency_keys (idempotency_key, request_hash, response_body, created_at, expires_at)
+            values (:key, :requestHash, '', :now, :expiresAt)
+            on conflict (idempotency_key) do update
+                set request_hash = excluded.request_hash,
+                    response_body = excluded.response_body,
+                    created_at = excluded.created_at,
+                    expires_at = excluded.expires_at
+                where idempotency_keys.expires_at < excluded.created_at
+            """, nativeQuery = true)
+    int claim(
+            @Param("key") String key,
+            @Param("requestHash") String requestHash,
+            @Param("now") OffsetDateTime now,
+            @Param("expiresAt") OffsetDateTime expiresAt
+    );
+
+    @Modifying
+    @Query(value = "update idempotency_keys set response_body = :responseBody where idempotency_key = :key",
+            nativeQuery = true)
+    int complete(@Param("key") String key, @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query(value = "delete from idempotency_keys where idempotency_key = :key and response_body = ''",
+            nativeQuery = true)
+    int release(@Param("key") String key);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") OffsetDateTime now);
+}
@@ -0,0 +1,77 @@
+package com.reto.tecnico.account_service.repository;
+
+import com.reto.tecnico.account_service.entity.MovementDailyTotal;
+import com.reto.tecnico.account_service.entity.MovementDailyTotalId;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MovementDailyTotalRepository extends JpaRepository<MovementDailyTotal, MovementDailyTotalId> {
+
+    List<MovementDailyTotal> findByIdAccountNumberAndIdTotalDateBetweenOrderByIdTotalDateAsc(
+            String accountNumber,
+            LocalDate from,
+            LocalDate to
+    );
+
+    @Modifying
+    @Query(value = """
+            insert into movement_daily_totals (
+                account_number, total_date, deposit_count, deposit_amount,
+                withdrawal_count, withdrawal_amount, closing_balance, updated_at
+            )
+            values (
+                :accountNumber, :day, :depositCount, :depositAmount,
+                :withdrawalCount, :withdrawalAmount, :closingBalance, now()
+            )
+            on conflict (account_number, total_date) do update
+                set deposit_count = movement_daily_totals.deposit_count + excluded.deposit_count,
+                    deposit_amount = movement_daily_totals.deposit_amount + excluded.deposit_amount,
+                    withdrawal_count = movement_daily_totals.withdrawal_count + excluded.withdrawal_count,
+                    withdrawal_amount = movement_daily_totals.withdrawal_amount + excluded.withdrawal_amount,
+                    closing_balance = excluded.closing_balance,
+                    updated_at = excluded.updated_at
+            """, nativeQuery = true)
+    int addToDay(
+            @Param("accountNumber") String accountNumber,
+            @Param("day") LocalDate day,
+            @Param("depositCount") long depositCount,
+            @Param("depositAmount") BigDecimal depositAmount,
+            @Param("withdrawalCount") long withdrawalCount,
+            @Param("withdrawalAmount") BigDecimal withdrawalAmount,
+            @Param("closingBalance") BigDecimal closingBalance
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            insert into movement_daily_totals (
+                account_number, total_date, deposit_count, deposit_amount,
+                withdrawal_count, withdrawal_amount, closing_balance, updated_at
+            )
+            select m.account_number,
+                   (m.movement_date at time zone 'UTC')::date,
+                   count(*) filter (where m.status = 'ACTIVE' and m.movement_type = 'DEPOSITO'),
+                   coalesce(sum(m.amount) filter (where m.status = 'ACTIVE' and m.movement_type = 'DEPOSITO'), 0),
+                   count(*) filter (where m.status = 'ACTIVE' and m.movement_type = 'RETIRO'),
+                   coalesce(sum(m.amount) filter (where m.status = 'ACTIVE' and m.movement_type = 'RETIRO'), 0),
+                   (array_agg(m.balance_after order by m.movement_date desc, m.created_at desc, m.movement_id desc))[1],
+                   now()
+            from movements m
+            where m.account_number = :accountNumber
+              and m.movement_date >= :fromDate
+            group by m.account_number, (m.movement_date at time zone 'UTC')::date
+            on conflict (account_number, total_date) do update
+                set deposit_count = excluded.deposit_count,
+                    deposit_amount = excluded.deposit_amount,
+                    withdrawal_count = excluded.withdrawal_count,
+                    withdrawal_amount = excluded.withdrawal_amount,
+                    closing_balance = excluded.closing_balance,
+                    updated_at = excluded.updated_at
+            """, nativeQuery = true)
+    int refreshFrom(@Param("accountNumber") String accountNumber, @Param("fromDate") OffsetDateTime fromDate);
+}
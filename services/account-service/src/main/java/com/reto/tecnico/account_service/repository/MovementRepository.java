@@ -5,19 +5,45 @@ import com.reto.tecnico.account_service.entity.MovementStatus;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
-public interface MovementRepository extends JpaRepository<Movement, UUID> {
+public interface MovementRepository extends JpaRepository<Movement, UUID>, MovementSearchRepository {
 
-    List<Movement> findByAccountNumberAndStatusAndMovementDateBetweenOrderByMovementDateAscCreatedAtAscMovementIdAsc(
-            String accountNumber,
-            MovementStatus status,
-            OffsetDateTime start,
-            OffsetDateTime end
+    @Query("""
+            select m from Movement m
+            where m.clienteId = :clienteId
+              and m.status = :status
+              and m.movementDate between :start and :end
+            order by m.accountNumber asc, m.movementDate asc, m.createdAt asc, m.movementId asc
+            """)
+    List<Movement> findReportMovements(
+            @Param("clienteId") UUID clienteId,
+            @Param("status") MovementStatus status,
+            @Param("start") OffsetDateTime start,
+            @Param("end") OffsetDateTime end
+    );
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select m from Movement m
+            where m.clienteId = :clienteId
+              and m.status = :status
+              and m.movementDate between :start and :end
+            order by m.accountNumber asc, m.movementDate asc, m.createdAt asc, m.movementId asc
+            """)
+    Stream<Movement> streamReportMovements(
+            @Param("clienteId") UUID clienteId,
+            @Param("status") MovementStatus status,
+            @Param("start") OffsetDateTime start,
+            @Param("end") OffsetDateTime end
     );
 
     List<Movement> findByAccountNumberAndStatusOrderByMovementDateAscCreatedAtAscMovementIdAsc(
@@ -29,24 +55,79 @@ public interface MovementRepository extends JpaRepository<Movement, UUID> {
             String accountNumber
     );
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select m from Movement m where m.movementId = :movementId")
-    java.util.Optional<Movement> findByIdForUpdate(@Param("movementId") UUID movementId);
+    java.util.Optional<Movement> findFirstByAccountNumberAndMovementDateLessThanOrderByMovementDateDescCreatedAtDescMovementIdDesc(
+            String accountNumber,
+            OffsetDateTime movementDate
+    );
 
-    @Query("""
-            select m from Movement m
-            join Account a on a.accountNumber = m.accountNumber
-            where (:accountNumber is null or m.accountNumber = :accountNumber)
-              and (:clienteId is null or a.clienteId = :clienteId)
-              and (m.movementDate between :fromDate and :toDate)
-              and (:includeVoided = true or m.status = com.reto.tecnico.account_service.entity.MovementStatus.ACTIVE)
-            order by m.movementDate asc, m.createdAt asc, m.movementId asc
-            """)
-    List<Movement> search(
+    List<Movement> findByAccountNumberAndMovementDateGreaterThanEqualOrderByMovementDateAscCreatedAtAscMovementIdAsc(
+            String accountNumber,
+            OffsetDateTime movementDate
+    );
+
+    @Query(value = """
+            with opening as (
+                select coalesce(
+                           (select m.balance_after
+                            from movements m
+                            where m.account_number = :accountNumber
+                              and m.movement_date < :fromDate
+                            order by m.movement_date desc, m.created_at desc, m.movement_id desc
+                            limit 1),
+                           (select a.initial_balance from accounts a where a.account_number = :accountNumber)
+                       ) as balance
+            ),
+            running as (
+                select m.movement_id,
+                       m.movement_date,
+                       m.created_at,
+                       m.balance_after,
+                       o.balance + sum(case when m.movement_type = 'RETIRO' then -m.amount else m.amount end)
+                           over (order by m.movement_date, m.created_at, m.movement_id) as balance
+                from movements m
+                cross join opening o
+                where m.account_number = :accountNumber
+                  and m.movement_date >= :fromDate
+            ),
+            verdict as (
+                select coalesce(bool_or(r.balance < 0), false) as negative,
+                       coalesce((array_agg(r.balance order by r.movement_date desc, r.created_at desc, r.movement_id desc))[1],
+                                (select o.balance from opening o)) as closing_balance
+                from running r
+            ),
+            updated_movements as (
+                update movements m
+                set balance_after = r.balance
+                from running r, verdict v
+                where not v.negative
+                  and m.account_number = :accountNumber
+                  and m.movement_date >= :fromDate
+                  and m.movement_id = r.movement_id
+                  and m.movement_date = r.movement_date
+                  and m.balance_after is distinct from r.balance
+                returning m.movement_id
+            ),
+            updated_account as (
+                update accounts a
+                set current_balance = v.closing_balance,
+                    updated_at = now(),
+                    version = version + 1
+                from verdict v
+                where not v.negative
+                  and a.account_number = :accountNumber
+                returning a.account_number
+            )
+            select v.negative as negative,
+                   v.closing_balance as closingBalance,
+                   (select count(*) from updated_movements) as updatedMovements
+            from verdict v
+            """, nativeQuery = true)
+    BalanceReconciliation reconcileFrom(
             @Param("accountNumber") String accountNumber,
-            @Param("clienteId") UUID clienteId,
-            @Param("fromDate") OffsetDateTime fromDate,
-            @Param("toDate") OffsetDateTime toDate,
-            @Param("includeVoided") boolean includeVoided
+            @Param("fromDate") OffsetDateTime fromDate
     );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Movement m where m.movementId = :movementId")
+    java.util.Optional<Movement> findByIdForUpdate(@Param("movementId") UUID movementId);
 }
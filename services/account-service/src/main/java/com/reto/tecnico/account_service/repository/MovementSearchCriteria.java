@@ -0,0 +1,32 @@
+package com.reto.tecnico.account_service.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record MovementSearchCriteria(
+        String accountNumber,
+        UUID clienteId,
+        OffsetDateTime fromDate,
+        OffsetDateTime toDate,
+        boolean includeVoided,
+        OffsetDateTime afterDate,
+        OffsetDateTime afterCreatedAt,
+        UUID afterId
+) {
+
+    public static MovementSearchCriteria of(
+            String accountNumber,
+            UUID clienteId,
+            OffsetDateTime fromDate,
+            OffsetDateTime toDate,
+            boolean includeVoided
+    ) {
+        return new MovementSearchCriteria(accountNumber, clienteId, fromDate, toDate, includeVoided, null, null, null);
+    }
+
+    public MovementSearchCriteria after(OffsetDateTime movementDate, OffsetDateTime createdAt, UUID movementId) {
+        return new MovementSearchCriteria(
+                accountNumber, clienteId, fromDate, toDate, includeVoided, movementDate, createdAt, movementId
+        );
+    }
+}
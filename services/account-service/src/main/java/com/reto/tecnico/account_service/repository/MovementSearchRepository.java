@@ -0,0 +1,12 @@
+package com.reto.tecnico.account_service.repository;
+
+import com.reto.tecnico.account_service.entity.Movement;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface MovementSearchRepository {
+
+    List<Movement> search(MovementSearchCriteria criteria, int limit);
+
+    Stream<Movement> streamSearch(MovementSearchCriteria criteria);
+}
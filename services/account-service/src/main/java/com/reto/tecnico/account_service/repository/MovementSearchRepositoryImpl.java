@@ -0,0 +1,69 @@
+package com.reto.tecnico.account_service.repository;
+
+import com.reto.tecnico.account_service.entity.Movement;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
+
+@RequiredArgsConstructor
+class MovementSearchRepositoryImpl implements MovementSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Movement> search(MovementSearchCriteria criteria, int limit) {
+        return query(criteria).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<Movement> streamSearch(MovementSearchCriteria criteria) {
+        return query(criteria).setHint(AvailableHints.HINT_FETCH_SIZE, 500).getResultStream();
+    }
+
+    private TypedQuery<Movement> query(MovementSearchCriteria criteria) {
+        StringBuilder jpql = new StringBuilder("select m from Movement m");
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        if (criteria.accountNumber() != null) {
+            predicates.add("m.accountNumber = :accountNumber");
+            parameters.put("accountNumber", criteria.accountNumber());
+        }
+        if (criteria.clienteId() != null) {
+            predicates.add("m.clienteId = :clienteId");
+            parameters.put("clienteId", criteria.clienteId());
+        }
+        if (criteria.fromDate() != null) {
+            predicates.add("m.movementDate >= :fromDate");
+            parameters.put("fromDate", criteria.fromDate());
+        }
+        if (criteria.toDate() != null) {
+            predicates.add("m.movementDate <= :toDate");
+            parameters.put("toDate", criteria.toDate());
+        }
+        if (!criteria.includeVoided()) {
+            predicates.add("m.status = com.reto.tecnico.account_service.entity.MovementStatus.ACTIVE");
+        }
+        if (criteria.afterId() != null) {
+            predicates.add("(m.movementDate, m.createdAt, m.movementId) > (:afterDate, :afterCreatedAt, :afterId)");
+            parameters.put("afterDate", criteria.afterDate());
+            parameters.put("afterCreatedAt", criteria.afterCreatedAt());
+            parameters.put("afterId", criteria.afterId());
+        }
+
+        if (!predicates.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", predicates));
+        }
+        jpql.append(" order by m.movementDate asc, m.createdAt asc, m.movementId asc");
+
+        TypedQuery<Movement> query = entityManager.createQuery(jpql.toString(), Movement.class);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
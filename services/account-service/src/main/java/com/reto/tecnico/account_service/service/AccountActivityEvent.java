@@ -0,0 +1,19 @@
+package com.reto.tecnico.account_service.service;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record AccountActivityEvent(
+        UUID clienteId,
+        String accountNumber,
+        OffsetDateTime affectedFrom
+) {
+
+    public static AccountActivityEvent forAccount(UUID clienteId, String accountNumber, OffsetDateTime affectedFrom) {
+        return new AccountActivityEvent(clienteId, accountNumber, affectedFrom);
+    }
+
+    public static AccountActivityEvent forCustomer(UUID clienteId) {
+        return new AccountActivityEvent(clienteId, null, null);
+    }
+}
@@ -0,0 +1,158 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.config.AccountProperties;
+import com.reto.tecnico.account_service.dto.AccountResponse;
+import com.reto.tecnico.account_service.entity.Account;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class AccountCache {
+
+    private final AccountProperties accountProperties;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter invalidations;
+    private final Timer staleness;
+    private final LinkedHashMap<String, CachedAccount> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long generation;
+
+    public AccountCache(AccountProperties accountProperties, MeterRegistry meterRegistry, Clock clock) {
+        this.accountProperties = accountProperties;
+        this.clock = clock;
+        this.hits = meterRegistry.counter("accounts.cache.gets", "result", "hit");
+        this.misses = meterRegistry.counter("accounts.cache.gets", "result", "miss");
+        this.sizeEvictions = meterRegistry.counter("accounts.cache.evictions", "cause", "size");
+        this.expiredEvictions = meterRegistry.counter("accounts.cache.evictions", "cause", "expired");
+        this.invalidations = meterRegistry.counter("accounts.cache.evictions", "cause", "invalidated");
+        this.staleness = Timer.builder("accounts.cache.staleness")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("accounts.cache.entries", this, cache -> cache.size()).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return accountProperties.getCache().isEnabled();
+    }
+
+    Optional<AccountResponse> get(String accountNumber) {
+        lock.lock();
+        try {
+            CachedAccount cached = entries.get(accountNumber);
+            if (cached == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+            Instant now = clock.instant();
+            if (cached.expiresAt().isBefore(now)) {
+                entries.remove(accountNumber);
+                expiredEvictions.increment();
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            staleness.record(Duration.between(cached.cachedAt(), now));
+            return Optional.of(cached.account());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void load(Account account, long expectedGeneration) {
+        lock.lock();
+        try {
+            if (generation == expectedGeneration) {
+                store(account);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        lock.lock();
+        try {
+            generation++;
+            if (event.account() == null) {
+                if (entries.remove(event.accountNumber()) != null) {
+                    invalidations.increment();
+                }
+                return;
+            }
+            store(event.account());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(Account account) {
+        if (!isEnabled()) {
+            return;
+        }
+        long version = account.getVersion() != null ? account.getVersion() : 0L;
+        CachedAccount current = entries.get(account.getAccountNumber());
+        if (current != null && current.version() > version) {
+            return;
+        }
+        Instant now = clock.instant();
+        entries.put(account.getAccountNumber(), new CachedAccount(
+                AccountService.toResponse(account),
+                version,
+                now,
+                now.plus(accountProperties.getCache().getTtl())
+        ));
+
+        Iterator<String> eldest = entries.keySet().iterator();
+        while (entries.size() > accountProperties.getCache().getMaxSize() && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            sizeEvictions.increment();
+        }
+    }
+
+    private record CachedAccount(AccountResponse account, long version, Instant cachedAt, Instant expiresAt) {
+    }
+}
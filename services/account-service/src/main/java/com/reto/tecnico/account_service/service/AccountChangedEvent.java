@@ -0,0 +1,17 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.entity.Account;
+
+public record AccountChangedEvent(
+        String accountNumber,
+        Account account
+) {
+
+    public static AccountChangedEvent updated(Account account) {
+        return new AccountChangedEvent(account.getAccountNumber(), account);
+    }
+
+    public static AccountChangedEvent evicted(String accountNumber) {
+        return new AccountChangedEvent(accountNumber, null);
+    }
+}
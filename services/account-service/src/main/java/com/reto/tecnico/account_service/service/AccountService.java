@@ -1,26 +1,36 @@
 package com.reto.tecnico.account_service.service;
 
+import com.reto.tecnico.account_service.dto.AccountBalanceResponse;
 import com.reto.tecnico.account_service.dto.AccountResponse;
 import com.reto.tecnico.account_service.dto.CreateAccountRequest;
 import com.reto.tecnico.account_service.dto.UpdateAccountRequest;
 import com.reto.tecnico.account_service.entity.Account;
-import com.reto.tecnico.account_service.entity.ClientSnapshot;
 import com.reto.tecnico.account_service.exception.ConflictException;
 import com.reto.tecnico.account_service.exception.NotFoundException;
+import com.reto.tecnico.account_service.ledger.LedgerEngine;
 import com.reto.tecnico.account_service.repository.AccountRepository;
-import com.reto.tecnico.account_service.repository.ClientSnapshotRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 public class AccountService {
 
     private final AccountRepository accountRepository;
-    private final ClientSnapshotRepository clientSnapshotRepository;
+    private final ClientSnapshotIndex clientSnapshotIndex;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final LedgerEngine ledgerEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountCache accountCache;
 
     @Transactional
     public AccountResponse create(CreateAccountRequest request) {
@@ -28,10 +38,10 @@ public class AccountService {
             throw new ConflictException("Account already exists");
         }
 
-        ClientSnapshot snapshot = clientSnapshotRepository.findById(request.clienteId())
+        ClientSummary client = clientSnapshotIndex.findById(request.clienteId())
                 .orElseThrow(() -> new NotFoundException("Customer not found"));
 
-        if (!snapshot.isActive()) {
+        if (!client.active()) {
             throw new ConflictException("Cliente inactivo");
         }
 
@@ -44,22 +54,46 @@ public class AccountService {
         account.setClienteId(request.clienteId());
 
         Account saved = accountRepository.save(account);
+        eventPublisher.publishEvent(AccountActivityEvent.forCustomer(saved.getClienteId()));
+        eventPublisher.publishEvent(AccountChangedEvent.updated(saved));
         return toResponse(saved);
     }
 
-    @Transactional(readOnly = true)
     public AccountResponse getByAccountNumber(String accountNumber) {
-        Account account = accountRepository.findById(accountNumber)
-                .orElseThrow(() -> new NotFoundException("Account not found"));
+        if (!accountCache.isEnabled()) {
+            return toResponse(findAccount(accountNumber));
+        }
+        Optional<AccountResponse> cached = accountCache.get(accountNumber);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long generation = accountCache.generation();
+        Account account = findAccount(accountNumber);
+        accountCache.load(account, generation);
         return toResponse(account);
     }
 
+    private Account findAccount(String accountNumber) {
+        return accountRepository.findById(accountNumber)
+                .orElseThrow(() -> new NotFoundException("Account not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public AccountBalanceResponse getBalanceAsOf(String accountNumber, LocalDate fecha) {
+        if (!accountRepository.existsById(accountNumber)) {
+            throw new NotFoundException("Account not found");
+        }
+        BigDecimal balance = balanceCheckpointService.closingBalances(List.of(accountNumber), fecha)
+                .get(accountNumber);
+        return new AccountBalanceResponse(accountNumber, fecha, balance);
+    }
+
     @Transactional(readOnly = true)
     public List<AccountResponse> getAll(UUID clienteId) {
         List<Account> accounts = clienteId == null
                 ? accountRepository.findAll()
                 : accountRepository.findByClienteId(clienteId);
-        return accounts.stream().map(this::toResponse).toList();
+        return accounts.stream().map(AccountService::toResponse).toList();
     }
 
     @Transactional
@@ -69,19 +103,29 @@ public class AccountService {
 
         account.setAccountType(request.accountType());
         Account saved = accountRepository.save(account);
+        eventPublisher.publishEvent(AccountActivityEvent.forCustomer(saved.getClienteId()));
+        eventPublisher.publishEvent(AccountChangedEvent.updated(saved));
         return toResponse(saved);
     }
 
-    @Transactional
     public void deactivate(String accountNumber) {
+        ledgerEngine.exclusive(() -> accountNumber, () -> {
+            transactionTemplate.executeWithoutResult(status -> deactivateInTransaction(accountNumber));
+            return null;
+        });
+    }
+
+    private void deactivateInTransaction(String accountNumber) {
         Account account = accountRepository.findById(accountNumber)
                 .orElseThrow(() -> new NotFoundException("Account not found"));
 
         account.setActive(false);
         accountRepository.save(account);
+        eventPublisher.publishEvent(AccountActivityEvent.forCustomer(account.getClienteId()));
+        eventPublisher.publishEvent(AccountChangedEvent.updated(account));
     }
 
-    private AccountResponse toResponse(Account account) {
+    static AccountResponse toResponse(Account account) {
         return new AccountResponse(
                 account.getAccountNumber(),
                 account.getAccountType(),
@@ -0,0 +1,26 @@
+package com.reto.tecnico.account_service.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.checkpoints", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BalanceCheckpointJob {
+
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final Clock clock;
+
+    @Scheduled(cron = "${app.checkpoints.cron:0 10 0 * * *}", zone = "UTC")
+    public void checkpointPreviousDay() {
+        LocalDate day = LocalDate.now(clock).minusDays(1);
+        int written = balanceCheckpointService.checkpoint(day);
+        log.info("Balance checkpoints written for {}: {}", day, written);
+    }
+}
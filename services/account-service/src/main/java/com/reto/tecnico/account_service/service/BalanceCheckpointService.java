@@ -0,0 +1,59 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.entity.BalanceCheckpoint;
+import com.reto.tecnico.account_service.repository.AccountBalanceView;
+import com.reto.tecnico.account_service.repository.BalanceCheckpointRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class BalanceCheckpointService {
+
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> closingBalances(Collection<String> accountNumbers, LocalDate day) {
+        if (accountNumbers.isEmpty()) {
+            return Map.of();
+        }
+        return balanceCheckpointRepository.findClosingBalances(accountNumbers, day, endOf(day)).stream()
+                .collect(Collectors.toMap(AccountBalanceView::getAccountNumber, AccountBalanceView::getBalance));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<BalanceCheckpoint> nearestBefore(String accountNumber, OffsetDateTime dateTime) {
+        return balanceCheckpointRepository
+                .findFirstByIdAccountNumberAndIdCheckpointDateLessThanOrderByIdCheckpointDateDesc(
+                        accountNumber,
+                        dayOf(dateTime)
+                );
+    }
+
+    @Transactional
+    public int checkpoint(LocalDate day) {
+        return balanceCheckpointRepository.upsertClosingBalances(day, endOf(day));
+    }
+
+    @Transactional
+    public void refreshFrom(String accountNumber, OffsetDateTime affectedFrom) {
+        balanceCheckpointRepository.refreshFrom(accountNumber, dayOf(affectedFrom));
+    }
+
+    private LocalDate dayOf(OffsetDateTime dateTime) {
+        return dateTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private OffsetDateTime endOf(LocalDate day) {
+        return day.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,6 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.entity.ClientSnapshot;
+
+public record ClientSnapshotChangedEvent(ClientSnapshot snapshot) {
+}
@@ -0,0 +1,111 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.entity.ClientSnapshot;
+import com.reto.tecnico.account_service.repository.ClientSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+public class ClientSnapshotIndex implements SmartLifecycle {
+
+    private final ClientSnapshotRepository clientSnapshotRepository;
+    private final Map<UUID, ClientSummary> byId = new ConcurrentHashMap<>();
+    private final Map<String, ClientSummary> byIdentificacion = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+    private volatile boolean running;
+
+    public ClientSnapshotIndex(ClientSnapshotRepository clientSnapshotRepository, MeterRegistry meterRegistry) {
+        this.clientSnapshotRepository = clientSnapshotRepository;
+        this.hits = meterRegistry.counter("clients.index.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("clients.index.lookups", "result", "miss");
+        Gauge.builder("clients.index.size", byId, Map::size).register(meterRegistry);
+    }
+
+    public Optional<ClientSummary> findById(UUID clienteId) {
+        ClientSummary summary = byId.get(clienteId);
+        if (summary != null) {
+            hits.increment();
+            return Optional.of(summary);
+        }
+        misses.increment();
+        return clientSnapshotRepository.findById(clienteId).map(ClientSummary::of).map(this::apply);
+    }
+
+    public Optional<ClientSummary> findByIdentificacion(String identificacion) {
+        ClientSummary summary = byIdentificacion.get(identificacion);
+        if (summary != null) {
+            hits.increment();
+            return Optional.of(summary);
+        }
+        misses.increment();
+        return clientSnapshotRepository.findByIdentificacion(identificacion).map(ClientSummary::of).map(this::apply);
+    }
+
+    @TransactionalEventListener
+    public void onSnapshotChanged(ClientSnapshotChangedEvent event) {
+        apply(ClientSummary.of(event.snapshot()));
+    }
+
+    @Scheduled(cron = "${app.clients.sync-cron:0 */15 * * * *}", zone = "UTC")
+    public void synchronize() {
+        int loaded = 0;
+        for (ClientSnapshot snapshot : clientSnapshotRepository.findAll()) {
+            apply(ClientSummary.of(snapshot));
+            loaded++;
+        }
+        log.info("Client snapshot index synchronized with {} clients", loaded);
+    }
+
+    private ClientSummary apply(ClientSummary summary) {
+        writeLock.lock();
+        try {
+            ClientSummary current = byId.get(summary.clienteId());
+            if (!summary.supersedes(current)) {
+                return current;
+            }
+            if (current != null && !current.identificacion().equals(summary.identificacion())) {
+                byIdentificacion.remove(current.identificacion(), current);
+            }
+            byId.put(summary.clienteId(), summary);
+            byIdentificacion.put(summary.identificacion(), summary);
+            return summary;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        synchronize();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 8192;
+    }
+}
@@ -0,0 +1,31 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.entity.ClientSnapshot;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record ClientSummary(
+        UUID clienteId,
+        String identificacion,
+        String name,
+        boolean active,
+        OffsetDateTime updatedAt
+) {
+
+    static ClientSummary of(ClientSnapshot snapshot) {
+        return new ClientSummary(
+                snapshot.getClienteId(),
+                snapshot.getIdentificacion(),
+                snapshot.getName(),
+                snapshot.isActive(),
+                snapshot.getUpdatedAt()
+        );
+    }
+
+    boolean supersedes(ClientSummary other) {
+        return other == null
+                || updatedAt == null
+                || other.updatedAt() == null
+                || !updatedAt.isBefore(other.updatedAt());
+    }
+}
@@ -8,6 +8,7 @@ import com.reto.tecnico.account_service.repository.ClientSnapshotRepository;
 import com.reto.tecnico.account_service.repository.ProcessedEventRepository;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +18,7 @@ public class EventProcessingService {
 
     private final ClientSnapshotRepository clientSnapshotRepository;
     private final ProcessedEventRepository processedEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void process(CustomerEvent event) {
@@ -49,6 +51,8 @@ public class EventProcessingService {
         snapshot.setLastEventAt(event.occurredAt());
 
         clientSnapshotRepository.save(snapshot);
+        eventPublisher.publishEvent(AccountActivityEvent.forCustomer(snapshot.getClienteId()));
+        eventPublisher.publishEvent(new ClientSnapshotChangedEvent(snapshot));
 
         ProcessedEvent processedEvent = new ProcessedEvent();
         processedEvent.setEventId(eventId);
@@ -0,0 +1,12 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.dto.MovementResponse;
+
+public interface IdempotencyClaim {
+
+    boolean acquire();
+
+    void complete(MovementResponse response);
+
+    void release();
+}
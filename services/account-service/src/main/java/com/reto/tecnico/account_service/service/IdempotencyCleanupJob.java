@@ -0,0 +1,20 @@
+package com.reto.tecnico.account_service.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyCleanupJob {
+
+    private final IdempotencyService idempotencyService;
+
+    @Scheduled(cron = "${app.idempotency.cleanup-cron:0 */10 * * * *}", zone = "UTC")
+    public void deleteExpiredKeys() {
+        int deleted = idempotencyService.deleteExpired();
+        log.info("Expired idempotency keys deleted: {}", deleted);
+    }
+}
@@ -0,0 +1,249 @@
+package com.reto.tecnico.account_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reto.tecnico.account_service.config.IdempotencyProperties;
+import com.reto.tecnico.account_service.dto.CreateMovementRequest;
+import com.reto.tecnico.account_service.dto.MovementResponse;
+import com.reto.tecnico.account_service.entity.IdempotencyRecord;
+import com.reto.tecnico.account_service.exception.ConflictException;
+import com.reto.tecnico.account_service.exception.UnprocessableEntityException;
+import com.reto.tecnico.account_service.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final IdempotencyProperties idempotencyProperties;
+    private final MovementService movementService;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter joined;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, StoredResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock responsesLock = new ReentrantLock();
+
+    public IdempotencyService(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            IdempotencyProperties idempotencyProperties,
+            MovementService movementService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            Clock clock
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.idempotencyProperties = idempotencyProperties;
+        this.movementService = movementService;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.executed = meterRegistry.counter("movements.idempotency", "outcome", "executed");
+        this.replayed = meterRegistry.counter("movements.idempotency", "outcome", "replayed");
+        this.joined = meterRegistry.counter("movements.idempotency", "outcome", "joined");
+    }
+
+    public MovementResponse create(String key, CreateMovementRequest request) {
+        if (key.isBlank() || key.length() > idempotencyProperties.getMaxKeyLength()) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must have between 1 and " + idempotencyProperties.getMaxKeyLength() + " characters"
+            );
+        }
+        String requestHash = hash(request);
+
+        Optional<StoredResponse> cached = cached(key);
+        if (cached.isPresent()) {
+            replayed.increment();
+            return replay(cached.get(), requestHash);
+        }
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            if (!running.requestHash().equals(requestHash)) {
+                throw reusedKey();
+            }
+            joined.increment();
+            return await(running.result());
+        }
+
+        try {
+            MovementResponse response = replayOrExecute(key, requestHash, request);
+            mine.result().complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            mine.result().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Transactional
+    public int deleteExpired() {
+        return idempotencyRecordRepository.deleteExpired(OffsetDateTime.now(clock));
+    }
+
+    private MovementResponse replayOrExecute(String key, String requestHash, CreateMovementRequest request) {
+        Optional<StoredResponse> stored = stored(key);
+        if (stored.isPresent()) {
+            replayed.increment();
+            return replay(stored.get(), requestHash);
+        }
+
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        OffsetDateTime expiresAt = now.plus(idempotencyProperties.getTtl());
+        Optional<MovementResponse> created = movementService.create(request, new IdempotencyClaim() {
+            @Override
+            public boolean acquire() {
+                return idempotencyRecordRepository.claim(key, requestHash, now, expiresAt) == 1;
+            }
+
+            @Override
+            public void complete(MovementResponse response) {
+                idempotencyRecordRepository.complete(key, write(response));
+            }
+
+            @Override
+            public void release() {
+                idempotencyRecordRepository.release(key);
+            }
+        });
+        if (created.isEmpty()) {
+            replayed.increment();
+            return replay(stored(key).orElseThrow(IdempotencyService::inProgress), requestHash);
+        }
+
+        executed.increment();
+        remember(key, new StoredResponse(requestHash, created.get(), expiresAt));
+        return created.get();
+    }
+
+    private Optional<StoredResponse> stored(String key) {
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(now));
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        IdempotencyRecord record = stored.get();
+        if (record.getResponseBody().isEmpty()) {
+            return Optional.of(new StoredResponse(record.getRequestHash(), null, record.getExpiresAt()));
+        }
+        StoredResponse response = new StoredResponse(
+                record.getRequestHash(),
+                read(record.getResponseBody()),
+                record.getExpiresAt()
+        );
+        remember(key, response);
+        return Optional.of(response);
+    }
+
+    private MovementResponse replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw reusedKey();
+        }
+        if (stored.response() == null) {
+            throw inProgress();
+        }
+        return stored.response();
+    }
+
+    private Optional<StoredResponse> cached(String key) {
+        responsesLock.lock();
+        try {
+            StoredResponse cached = responses.get(key);
+            if (cached == null) {
+                return Optional.empty();
+            }
+            if (!cached.expiresAt().isAfter(OffsetDateTime.now(clock))) {
+                responses.remove(key);
+                return Optional.empty();
+            }
+            return Optional.of(cached);
+        } finally {
+            responsesLock.unlock();
+        }
+    }
+
+    private void remember(String key, StoredResponse response) {
+        responsesLock.lock();
+        try {
+            responses.put(key, response);
+            Iterator<String> eldest = responses.keySet().iterator();
+            while (responses.size() > idempotencyProperties.getCache().getMaxSize() && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        } finally {
+            responsesLock.unlock();
+        }
+    }
+
+    private String hash(CreateMovementRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Could not hash movement request", ex);
+        }
+    }
+
+    private String write(MovementResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not store idempotent response", ex);
+        }
+    }
+
+    private MovementResponse read(String body) {
+        try {
+            return objectMapper.readValue(body, MovementResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read idempotent response", ex);
+        }
+    }
+
+    private MovementResponse await(CompletableFuture<MovementResponse> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    private static UnprocessableEntityException reusedKey() {
+        return new UnprocessableEntityException("Idempotency-Key already used with a different request");
+    }
+
+    private static ConflictException inProgress() {
+        return new ConflictException("A request with this Idempotency-Key is still being processed");
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<MovementResponse> result) {
+    }
+
+    private record StoredResponse(String requestHash, MovementResponse response, OffsetDateTime expiresAt) {
+    }
+}
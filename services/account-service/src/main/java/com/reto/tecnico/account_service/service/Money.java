@@ -0,0 +1,26 @@
+package com.reto.tecnico.account_service.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private static final int EXACT_DOUBLE_PRECISION = 15;
+
+    private Money() {
+    }
+
+    public static long toCents(BigDecimal amount) {
+        // Below 10^15 cents the double round trip is exact and, unlike movePointRight, allocates nothing.
+        if (amount.scale() == SCALE && amount.precision() <= EXACT_DOUBLE_PRECISION) {
+            return Math.round(amount.doubleValue() * 100);
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
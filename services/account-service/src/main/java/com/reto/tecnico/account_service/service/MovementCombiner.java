@@ -0,0 +1,138 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.config.MovementProperties;
+import com.reto.tecnico.account_service.datasource.ConsistencyTokenIssuer;
+import com.reto.tecnico.account_service.dto.CreateMovementRequest;
+import com.reto.tecnico.account_service.dto.MovementResponse;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MovementCombiner {
+
+    private final MovementService movementService;
+    private final MovementProperties movementProperties;
+    private final ObjectProvider<ConsistencyTokenIssuer> consistencyTokenIssuer;
+    private final ScheduledExecutorService executor;
+    private final ConcurrentMap<String, AccountQueue> queues = new ConcurrentHashMap<>();
+
+    public MovementCombiner(
+            MovementService movementService,
+            MovementProperties movementProperties,
+            ObjectProvider<ConsistencyTokenIssuer> consistencyTokenIssuer
+    ) {
+        this.movementService = movementService;
+        this.movementProperties = movementProperties;
+        this.consistencyTokenIssuer = consistencyTokenIssuer;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(movementProperties.getCombiner().getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "movement-combiner-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public MovementResponse create(CreateMovementRequest request) {
+        if (!movementProperties.getCombiner().isEnabled()) {
+            return movementService.create(request);
+        }
+
+        PendingMovement pending = new PendingMovement(request, new CompletableFuture<>());
+        enqueue(request.accountNumber(), pending);
+
+        MovementPostingResult result = pending.result().join();
+        if (!result.isAccepted()) {
+            throw result.error();
+        }
+        consistencyTokenIssuer.ifAvailable(ConsistencyTokenIssuer::issueAfterOffThreadCommit);
+        return result.movement();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private void enqueue(String accountNumber, PendingMovement pending) {
+        while (true) {
+            AccountQueue queue = queues.computeIfAbsent(accountNumber, key -> new AccountQueue());
+            queue.lock.lock();
+            try {
+                if (queue.closed) {
+                    continue;
+                }
+                queue.pending.add(pending);
+                if (!queue.scheduled) {
+                    queue.scheduled = true;
+                    executor.schedule(
+                            () -> drain(accountNumber, queue),
+                            movementProperties.getCombiner().getWindow().toNanos(),
+                            TimeUnit.NANOSECONDS
+                    );
+                }
+                return;
+            } finally {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    private void drain(String accountNumber, AccountQueue queue) {
+        int maxBatchSize = movementProperties.getCombiner().getMaxBatchSize();
+        while (true) {
+            List<PendingMovement> batch = new ArrayList<>();
+            queue.lock.lock();
+            try {
+                while (batch.size() < maxBatchSize && !queue.pending.isEmpty()) {
+                    batch.add(queue.pending.poll());
+                }
+                if (batch.isEmpty()) {
+                    queue.scheduled = false;
+                    queue.closed = true;
+                    queues.remove(accountNumber, queue);
+                    return;
+                }
+            } finally {
+                queue.lock.unlock();
+            }
+            apply(accountNumber, batch);
+        }
+    }
+
+    private void apply(String accountNumber, List<PendingMovement> batch) {
+        try {
+            List<MovementPostingResult> results = movementService.postAll(
+                    accountNumber,
+                    batch.stream().map(PendingMovement::request).toList()
+            );
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (RuntimeException ex) {
+            batch.forEach(item -> item.result().complete(MovementPostingResult.rejected(ex)));
+        }
+    }
+
+    private record PendingMovement(CreateMovementRequest request, CompletableFuture<MovementPostingResult> result) {
+    }
+
+    private static final class AccountQueue {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Queue<PendingMovement> pending = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean closed;
+    }
+}
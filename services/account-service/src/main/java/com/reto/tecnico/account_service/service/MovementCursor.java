@@ -0,0 +1,54 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.entity.Movement;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+record MovementCursor(OffsetDateTime movementDate, OffsetDateTime createdAt, UUID movementId) {
+
+    private static final int SIZE = 8 + 8 + 16;
+
+    static MovementCursor of(Movement movement) {
+        return new MovementCursor(movement.getMovementDate(), movement.getCreatedAt(), movement.getMovementId());
+    }
+
+    static MovementCursor decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (bytes.length != SIZE) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new MovementCursor(
+                fromEpochMicros(buffer.getLong()),
+                fromEpochMicros(buffer.getLong()),
+                new UUID(buffer.getLong(), buffer.getLong())
+        );
+    }
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE)
+                .putLong(toEpochMicros(movementDate))
+                .putLong(toEpochMicros(createdAt))
+                .putLong(movementId.getMostSignificantBits())
+                .putLong(movementId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private static long toEpochMicros(OffsetDateTime value) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, value.toInstant());
+    }
+
+    private static OffsetDateTime fromEpochMicros(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS).atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,36 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.config.PartitionProperties;
+import java.time.Clock;
+import java.time.YearMonth;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MovementPartitionJob {
+
+    private final MovementPartitionService movementPartitionService;
+    private final PartitionProperties partitionProperties;
+    private final Clock clock;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.partitions.cron:0 0 1 * * *}", zone = "UTC")
+    public void createUpcomingPartitions() {
+        if (!movementPartitionService.isPartitioned()) {
+            log.warn("Table movements is not partitioned, skipping partition maintenance");
+            return;
+        }
+        YearMonth current = YearMonth.now(clock);
+        YearMonth until = current.plusMonths(partitionProperties.getMonthsAhead());
+        int created = movementPartitionService.ensurePartitions(current, until);
+        log.info("Movement partitions ensured through {}: {} created", until, created);
+    }
+}
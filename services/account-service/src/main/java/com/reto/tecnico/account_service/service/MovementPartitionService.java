@@ -0,0 +1,75 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.config.PartitionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class MovementPartitionService {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionProperties partitionProperties;
+    private final Counter failures;
+
+    public MovementPartitionService(
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            PartitionProperties partitionProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionProperties = partitionProperties;
+        this.failures = meterRegistry.counter("movements.partitions.failures");
+    }
+
+    public boolean isPartitioned() {
+        return transactionTemplate.execute(status -> ((Number) entityManager.createNativeQuery("""
+                select count(*) from pg_partitioned_table
+                where partrelid = to_regclass('movements')
+                """).getSingleResult()).longValue() > 0);
+    }
+
+    public int ensurePartitions(YearMonth from, YearMonth to) {
+        int created = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            if (ensurePartition(month)) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "movements_p" + month.format(SUFFIX);
+    }
+
+    private boolean ensurePartition(YearMonth month) {
+        try {
+            return transactionTemplate.execute(status -> {
+                entityManager.createNativeQuery("select set_config('lock_timeout', :timeout, true)")
+                        .setParameter("timeout", partitionProperties.getLockTimeout().toMillis() + "ms")
+                        .getSingleResult();
+                Number created = (Number) entityManager
+                        .createNativeQuery("select public.ensure_movement_partitions(:day, :day)")
+                        .setParameter("day", month.atDay(1))
+                        .getSingleResult();
+                return created.intValue() > 0;
+            });
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.error("Could not create movement partition {}", partitionName(month), ex);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.dto.MovementResponse;
+
+record MovementPostingResult(MovementResponse movement, RuntimeException error) {
+
+    static MovementPostingResult accepted(MovementResponse movement) {
+        return new MovementPostingResult(movement, null);
+    }
+
+    static MovementPostingResult rejected(RuntimeException error) {
+        return new MovementPostingResult(null, error);
+    }
+
+    boolean isAccepted() {
+        return error == null;
+    }
+}
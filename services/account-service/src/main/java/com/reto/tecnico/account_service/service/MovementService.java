@@ -1,75 +1,289 @@
 package com.reto.tecnico.account_service.service;
 
+import com.reto.tecnico.account_service.config.MovementProperties;
+import com.reto.tecnico.account_service.config.MovementProperties.WriteMode;
+import com.reto.tecnico.account_service.dto.BatchMovementItemResponse;
+import com.reto.tecnico.account_service.dto.BatchMovementResponse;
 import com.reto.tecnico.account_service.dto.CreateMovementRequest;
+import com.reto.tecnico.account_service.dto.MovementPage;
 import com.reto.tecnico.account_service.dto.MovementResponse;
 import com.reto.tecnico.account_service.dto.RectifyMovementResponse;
 import com.reto.tecnico.account_service.dto.UpdateMovementRequest;
 import com.reto.tecnico.account_service.dto.VoidMovementResponse;
 import com.reto.tecnico.account_service.entity.Account;
+import com.reto.tecnico.account_service.entity.BalanceCheckpoint;
 import com.reto.tecnico.account_service.entity.Movement;
 import com.reto.tecnico.account_service.entity.MovementStatus;
 import com.reto.tecnico.account_service.entity.MovementType;
 import com.reto.tecnico.account_service.exception.ConflictException;
 import com.reto.tecnico.account_service.exception.NotFoundException;
+import com.reto.tecnico.account_service.exception.ServiceUnavailableException;
 import com.reto.tecnico.account_service.exception.UnprocessableEntityException;
+import com.reto.tecnico.account_service.id.IdGenerator;
+import com.reto.tecnico.account_service.ledger.LedgerEngine;
+import com.reto.tecnico.account_service.repository.AccountBalanceUpdate;
 import com.reto.tecnico.account_service.repository.AccountRepository;
+import com.reto.tecnico.account_service.repository.BalanceReconciliation;
 import com.reto.tecnico.account_service.repository.MovementRepository;
+import com.reto.tecnico.account_service.repository.MovementSearchCriteria;
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MovementService {
 
     private final AccountRepository accountRepository;
     private final MovementRepository movementRepository;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final MovementTotalsService movementTotalsService;
+    private final MovementProperties movementProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final OptimisticWriteRetry optimisticWriteRetry;
+    private final LedgerEngine ledgerEngine;
+    private final IdGenerator idGenerator;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
     private final Clock clock;
 
-    @Transactional
     public MovementResponse create(CreateMovementRequest request) {
-        Account account = accountRepository.findByAccountNumberForUpdate(request.accountNumber())
-                .orElseThrow(() -> new NotFoundException("Account not found"));
+        if (ledgerEngine.isRunning()) {
+            return ledgerEngine.post(request);
+        }
+        return optimisticWriteRetry.execute(
+                "create",
+                () -> transactionTemplate.execute(status -> createInTransaction(request))
+        );
+    }
+
+    public Optional<MovementResponse> create(CreateMovementRequest request, IdempotencyClaim claim) {
+        if (ledgerEngine.isRunning()) {
+            if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> claim.acquire()))) {
+                return Optional.empty();
+            }
+            MovementResponse response;
+            try {
+                response = ledgerEngine.post(request);
+            } catch (RuntimeException ex) {
+                transactionTemplate.executeWithoutResult(status -> claim.release());
+                throw ex;
+            }
+            // The movement is already journaled: if the response cannot be stored (or the process dies first)
+            // the key stays pending and retries get 409 until app.idempotency.ttl, instead of posting twice.
+            try {
+                transactionTemplate.executeWithoutResult(status -> claim.complete(response));
+            } catch (RuntimeException ex) {
+                log.error("Could not store idempotent response for movement {}", response.movementId(), ex);
+            }
+            return Optional.of(response);
+        }
+        return optimisticWriteRetry.execute(
+                "create",
+                () -> transactionTemplate.execute(status -> {
+                    if (!claim.acquire()) {
+                        return Optional.empty();
+                    }
+                    MovementResponse response = createInTransaction(request);
+                    claim.complete(response);
+                    return Optional.of(response);
+                })
+        );
+    }
+
+    private MovementResponse createInTransaction(CreateMovementRequest request) {
+        if (movementProperties.getWriteMode() == WriteMode.ATOMIC) {
+            return createAtomically(request);
+        }
+
+        Account account = lockAccount(request.accountNumber());
 
         if (!account.isActive()) {
             throw new ConflictException("Account inactive");
         }
 
-        BigDecimal amount = request.amount();
-        BigDecimal newBalance;
+        Movement movement = post(account, request, OffsetDateTime.now(clock));
+        accountRepository.save(account);
+
+        Movement saved = movementRepository.save(movement);
+        movementTotalsService.record(saved);
+        publishActivity(saved.getClienteId(), saved.getAccountNumber(), saved.getMovementDate());
+        eventPublisher.publishEvent(AccountChangedEvent.updated(account));
+        return toResponse(saved);
+    }
+
+    private MovementResponse createAtomically(CreateMovementRequest request) {
+        BigDecimal delta = request.movementType() == MovementType.RETIRO
+                ? request.amount().negate()
+                : request.amount();
+        AccountBalanceUpdate update = accountRepository.applyBalanceDelta(request.accountNumber(), delta)
+                .orElseThrow(() -> balanceUpdateRejection(request.accountNumber()));
+
+        Movement movement = newMovement(
+                request, update.getClienteId(), update.getBalance(), OffsetDateTime.now(clock)
+        );
+        Movement saved = movementRepository.save(movement);
+        movementTotalsService.record(saved);
+        publishActivity(saved.getClienteId(), saved.getAccountNumber(), saved.getMovementDate());
+        eventPublisher.publishEvent(AccountChangedEvent.evicted(saved.getAccountNumber()));
+        return toResponse(saved);
+    }
+
+    private RuntimeException balanceUpdateRejection(String accountNumber) {
+        Account account = accountRepository.findById(accountNumber).orElse(null);
+        if (account == null) {
+            return new NotFoundException("Account not found");
+        }
+        if (!account.isActive()) {
+            return new ConflictException("Account inactive");
+        }
+        return new ConflictException("Saldo no disponible");
+    }
+
+    public BatchMovementResponse createBatch(List<CreateMovementRequest> requests) {
+        Map<String, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByAccount.computeIfAbsent(requests.get(i).accountNumber(), key -> new ArrayList<>()).add(i);
+        }
+
+        BatchMovementItemResponse[] results = new BatchMovementItemResponse[requests.size()];
+        indexesByAccount.forEach((accountNumber, indexes) -> {
+            List<CreateMovementRequest> group = indexes.stream().map(requests::get).toList();
+            List<MovementPostingResult> outcomes = postAll(accountNumber, group);
+            for (int i = 0; i < indexes.size(); i++) {
+                MovementPostingResult outcome = outcomes.get(i);
+                results[indexes.get(i)] = new BatchMovementItemResponse(
+                        indexes.get(i),
+                        accountNumber,
+                        outcome.isAccepted(),
+                        outcome.movement(),
+                        outcome.isAccepted() ? null : rejectionMessage(outcome.error())
+                );
+            }
+        });
+
+        int accepted = (int) Arrays.stream(results).filter(BatchMovementItemResponse::accepted).count();
+        return new BatchMovementResponse(accepted, results.length - accepted, List.of(results));
+    }
+
+    List<MovementPostingResult> postAll(String accountNumber, List<CreateMovementRequest> requests) {
+        if (ledgerEngine.isRunning()) {
+            return postAllToLedger(requests);
+        }
+        try {
+            return transactionTemplate.execute(status -> postAllInTransaction(accountNumber, requests));
+        } catch (NotFoundException | ConflictException | UnprocessableEntityException ex) {
+            return requests.stream().map(request -> MovementPostingResult.rejected(ex)).toList();
+        }
+    }
+
+    private List<MovementPostingResult> postAllToLedger(List<CreateMovementRequest> requests) {
+        return ledgerEngine.postAll(requests).stream()
+                .map(result -> result.handle((movement, error) -> error == null
+                        ? MovementPostingResult.accepted(movement)
+                        : MovementPostingResult.rejected(error instanceof RuntimeException runtime
+                                ? runtime
+                                : new IllegalStateException(error))).join())
+                .toList();
+    }
+
+    private List<MovementPostingResult> postAllInTransaction(String accountNumber, List<CreateMovementRequest> requests) {
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
+                .orElseThrow(() -> new NotFoundException("Account not found"));
+        if (!account.isActive()) {
+            throw new ConflictException("Account inactive");
+        }
+
+        OffsetDateTime now = OffsetDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+        List<Movement> movements = new ArrayList<>();
+        List<MovementPostingResult> results = new ArrayList<>();
+        for (CreateMovementRequest request : requests) {
+            try {
+                Movement movement = post(account, request, now.plus(results.size(), ChronoUnit.MICROS));
+                movements.add(movement);
+                results.add(MovementPostingResult.accepted(toResponse(movement)));
+            } catch (ConflictException ex) {
+                results.add(MovementPostingResult.rejected(ex));
+            }
+        }
+
+        if (!movements.isEmpty()) {
+            accountRepository.save(account);
+            movementRepository.saveAll(movements);
+            movementTotalsService.refreshFrom(accountNumber, now);
+            publishActivity(account.getClienteId(), accountNumber, now);
+            eventPublisher.publishEvent(AccountChangedEvent.updated(account));
+        }
+        return results;
+    }
+
+    private Movement post(Account account, CreateMovementRequest request, OffsetDateTime now) {
+        long amount = Money.toCents(request.amount());
+        long newBalance;
 
         if (request.movementType() == MovementType.RETIRO) {
-            newBalance = account.getCurrentBalance().subtract(amount);
-            if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
+            newBalance = Math.subtractExact(Money.toCents(account.getCurrentBalance()), amount);
+            if (newBalance < 0) {
                 throw new ConflictException("Saldo no disponible");
             }
         } else {
-            newBalance = account.getCurrentBalance().add(amount);
+            newBalance = Math.addExact(Money.toCents(account.getCurrentBalance()), amount);
         }
 
-        account.setCurrentBalance(newBalance);
-        accountRepository.save(account);
+        BigDecimal balanceAfter = Money.toDecimal(newBalance);
+        account.setCurrentBalance(balanceAfter);
+        return newMovement(request, account.getClienteId(), balanceAfter, now);
+    }
 
+    private Movement newMovement(
+            CreateMovementRequest request,
+            UUID clienteId,
+            BigDecimal balanceAfter,
+            OffsetDateTime now
+    ) {
         Movement movement = new Movement();
-        movement.setMovementId(UUID.randomUUID());
-        movement.setAccountNumber(account.getAccountNumber());
+        movement.setMovementId(idGenerator.next());
+        movement.setAccountNumber(request.accountNumber());
+        movement.setClienteId(clienteId);
         movement.setMovementType(request.movementType());
-        movement.setAmount(amount);
-        movement.setBalanceAfter(newBalance);
-        OffsetDateTime now = OffsetDateTime.now(clock);
+        movement.setAmount(request.amount());
+        movement.setBalanceAfter(balanceAfter);
         movement.setMovementDate(now);
         movement.setCreatedAt(now);
         movement.setStatus(MovementStatus.ACTIVE);
+        return movement;
+    }
 
-        Movement saved = movementRepository.save(movement);
-        return toResponse(saved);
+    private String rejectionMessage(RuntimeException error) {
+        if (error instanceof NotFoundException
+                || error instanceof ConflictException
+                || error instanceof UnprocessableEntityException
+                || error instanceof ServiceUnavailableException) {
+            return error.getMessage();
+        }
+        log.error("Unexpected error posting batch movement", error);
+        return "Unexpected error";
     }
 
     @Transactional(readOnly = true)
@@ -80,39 +294,95 @@ public class MovementService {
     }
 
     @Transactional(readOnly = true)
-    public List<MovementResponse> search(
+    public MovementPage search(
             String accountNumber,
             UUID clienteId,
             LocalDate fechaDesde,
             LocalDate fechaHasta,
-            boolean includeVoided
+            boolean includeVoided,
+            Integer limit,
+            String cursor
     ) {
+        validateRange(fechaDesde, fechaHasta);
+
+        MovementProperties.Search searchProperties = movementProperties.getSearch();
+        int pageSize = limit != null ? limit : searchProperties.getDefaultLimit();
+        if (pageSize < 1 || pageSize > searchProperties.getMaxLimit()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + searchProperties.getMaxLimit());
+        }
+
+        MovementSearchCriteria criteria = searchCriteria(
+                accountNumber, clienteId, fechaDesde, fechaHasta, includeVoided
+        );
+        if (cursor != null && !cursor.isBlank()) {
+            MovementCursor after = MovementCursor.decode(cursor);
+            criteria = criteria.after(after.movementDate(), after.createdAt(), after.movementId());
+        }
+        List<Movement> movements = movementRepository.search(criteria, pageSize + 1);
+
+        boolean hasNext = movements.size() > pageSize;
+        List<Movement> page = hasNext ? movements.subList(0, pageSize) : movements;
+        String nextCursor = hasNext ? MovementCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new MovementPage(page.stream().map(this::toResponse).toList(), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamSearch(
+            String accountNumber,
+            UUID clienteId,
+            LocalDate fechaDesde,
+            LocalDate fechaHasta,
+            boolean includeVoided,
+            Consumer<MovementResponse> consumer
+    ) {
+        validateRange(fechaDesde, fechaHasta);
+
+        try (Stream<Movement> movements = movementRepository.streamSearch(
+                searchCriteria(accountNumber, clienteId, fechaDesde, fechaHasta, includeVoided)
+        )) {
+            movements.forEach(movement -> {
+                entityManager.detach(movement);
+                consumer.accept(toResponse(movement));
+            });
+        }
+    }
+
+    private void validateRange(LocalDate fechaDesde, LocalDate fechaHasta) {
         if (fechaDesde != null && fechaHasta != null && fechaDesde.isAfter(fechaHasta)) {
             throw new IllegalArgumentException("fechaDesde must be before or equal to fechaHasta");
         }
+    }
 
+    private MovementSearchCriteria searchCriteria(
+            String accountNumber,
+            UUID clienteId,
+            LocalDate fechaDesde,
+            LocalDate fechaHasta,
+            boolean includeVoided
+    ) {
         OffsetDateTime fromDate = fechaDesde != null
                 ? fechaDesde.atStartOfDay().atOffset(ZoneOffset.UTC)
-                : OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+                : null;
         OffsetDateTime toDate = fechaHasta != null
                 ? fechaHasta.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC).minusNanos(1)
-                : OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_000, ZoneOffset.UTC);
-
-        return movementRepository.search(accountNumber, clienteId, fromDate, toDate, includeVoided).stream()
-                .map(this::toResponse)
-                .toList();
+                : null;
+        return MovementSearchCriteria.of(accountNumber, clienteId, fromDate, toDate, includeVoided);
     }
 
-    @Transactional
     public RectifyMovementResponse rectify(UUID movementId, UpdateMovementRequest request) {
-        Movement original = movementRepository.findByIdForUpdate(movementId)
-                .orElseThrow(() -> new NotFoundException("Movement not found"));
+        return onLedger(movementId, () -> optimisticWriteRetry.execute(
+                "rectify",
+                () -> transactionTemplate.execute(status -> rectifyInTransaction(movementId, request))
+        ));
+    }
+
+    private RectifyMovementResponse rectifyInTransaction(UUID movementId, UpdateMovementRequest request) {
+        Movement original = lockMovement(movementId);
         if (original.getStatus() != MovementStatus.ACTIVE) {
             throw new ConflictException("Movement not active");
         }
 
-        Account account = accountRepository.findByAccountNumberForUpdate(original.getAccountNumber())
-                .orElseThrow(() -> new NotFoundException("Account not found"));
+        Account account = lockAccount(original.getAccountNumber());
         if (!account.isActive()) {
             throw new ConflictException("Account inactive");
         }
@@ -125,8 +395,9 @@ public class MovementService {
         movementRepository.save(reversal);
 
         Movement replacement = new Movement();
-        replacement.setMovementId(UUID.randomUUID());
+        replacement.setMovementId(idGenerator.next());
         replacement.setAccountNumber(original.getAccountNumber());
+        replacement.setClienteId(account.getClienteId());
         replacement.setMovementType(request.movementType());
         replacement.setAmount(request.amount());
         replacement.setMovementDate(request.movementDate() != null ? request.movementDate() : now);
@@ -139,7 +410,12 @@ public class MovementService {
         original.setReplacementMovementId(replacement.getMovementId());
         movementRepository.save(original);
 
-        reconcileBalances(account);
+        OffsetDateTime affectedFrom = replacement.getMovementDate().isBefore(now) ? replacement.getMovementDate() : now;
+        reconcileBalances(account, affectedFrom);
+        OffsetDateTime changedFrom = earliest(original.getMovementDate(), affectedFrom);
+        movementTotalsService.refreshFrom(account.getAccountNumber(), changedFrom);
+        publishActivity(account.getClienteId(), account.getAccountNumber(), changedFrom);
+        eventPublisher.publishEvent(AccountChangedEvent.updated(account));
 
         return new RectifyMovementResponse(
                 original.getMovementId(),
@@ -150,16 +426,27 @@ public class MovementService {
         );
     }
 
-    @Transactional
     public VoidMovementResponse voidMovement(UUID movementId, String reason) {
-        Movement original = movementRepository.findByIdForUpdate(movementId)
-                .orElseThrow(() -> new NotFoundException("Movement not found"));
+        return onLedger(movementId, () -> optimisticWriteRetry.execute(
+                "void",
+                () -> transactionTemplate.execute(status -> voidInTransaction(movementId, reason))
+        ));
+    }
+
+    private <T> T onLedger(UUID movementId, Supplier<T> action) {
+        return ledgerEngine.exclusive(
+                () -> movementRepository.findById(movementId).map(Movement::getAccountNumber).orElse(null),
+                action
+        );
+    }
+
+    private VoidMovementResponse voidInTransaction(UUID movementId, String reason) {
+        Movement original = lockMovement(movementId);
         if (original.getStatus() != MovementStatus.ACTIVE) {
             throw new ConflictException("Movement not active");
         }
 
-        Account account = accountRepository.findByAccountNumberForUpdate(original.getAccountNumber())
-                .orElseThrow(() -> new NotFoundException("Account not found"));
+        Account account = lockAccount(original.getAccountNumber());
         if (!account.isActive()) {
             throw new ConflictException("Account inactive");
         }
@@ -176,7 +463,11 @@ public class MovementService {
         original.setReversalMovementId(reversal.getMovementId());
         movementRepository.save(original);
 
-        reconcileBalances(account);
+        reconcileBalances(account, now);
+        OffsetDateTime changedFrom = earliest(original.getMovementDate(), now);
+        movementTotalsService.refreshFrom(account.getAccountNumber(), changedFrom);
+        publishActivity(account.getClienteId(), account.getAccountNumber(), changedFrom);
+        eventPublisher.publishEvent(AccountChangedEvent.updated(account));
 
         return new VoidMovementResponse(
                 original.getMovementId(),
@@ -185,10 +476,25 @@ public class MovementService {
         );
     }
 
+    private Account lockAccount(String accountNumber) {
+        Optional<Account> account = optimisticWriteRetry.isEnabled()
+                ? accountRepository.findByAccountNumberWithVersionIncrement(accountNumber)
+                : accountRepository.findByAccountNumberForUpdate(accountNumber);
+        return account.orElseThrow(() -> new NotFoundException("Account not found"));
+    }
+
+    private Movement lockMovement(UUID movementId) {
+        Optional<Movement> movement = optimisticWriteRetry.isEnabled()
+                ? movementRepository.findById(movementId)
+                : movementRepository.findByIdForUpdate(movementId);
+        return movement.orElseThrow(() -> new NotFoundException("Movement not found"));
+    }
+
     private Movement buildReversal(Movement original, OffsetDateTime now, BigDecimal balanceAfter) {
         Movement reversal = new Movement();
-        reversal.setMovementId(UUID.randomUUID());
+        reversal.setMovementId(idGenerator.next());
         reversal.setAccountNumber(original.getAccountNumber());
+        reversal.setClienteId(original.getClienteId());
         reversal.setMovementType(opposite(original.getMovementType()));
         reversal.setAmount(original.getAmount());
         reversal.setMovementDate(now);
@@ -198,33 +504,103 @@ public class MovementService {
         return reversal;
     }
 
-    private void reconcileBalances(Account account) {
-        List<Movement> activeMovements = movementRepository
-                .findByAccountNumberOrderByMovementDateAscCreatedAtAscMovementIdAsc(
-                        account.getAccountNumber()
-                );
+    private void reconcileBalances(Account account, OffsetDateTime affectedFrom) {
+        switch (movementProperties.getReconciliation().getMode()) {
+            case FULL -> reconcileAllBalances(account, affectedFrom);
+            case SET_BASED -> reconcileBalancesInDatabase(account, affectedFrom);
+            case INCREMENTAL -> reconcileBalancesFrom(account, affectedFrom);
+        }
+        balanceCheckpointService.refreshFrom(account.getAccountNumber(), affectedFrom);
+    }
+
+    private void reconcileAllBalances(Account account, OffsetDateTime affectedFrom) {
+        Optional<BalanceCheckpoint> checkpoint = balanceCheckpointService
+                .nearestBefore(account.getAccountNumber(), affectedFrom);
+
+        long balance;
+        List<Movement> activeMovements;
+        if (checkpoint.isPresent()) {
+            balance = Money.toCents(checkpoint.get().getClosingBalance());
+            activeMovements = movementRepository
+                    .findByAccountNumberAndMovementDateGreaterThanEqualOrderByMovementDateAscCreatedAtAscMovementIdAsc(
+                            account.getAccountNumber(),
+                            checkpoint.get().getId().getCheckpointDate().plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC)
+                    );
+        } else {
+            balance = Money.toCents(account.getInitialBalance());
+            activeMovements = movementRepository
+                    .findByAccountNumberOrderByMovementDateAscCreatedAtAscMovementIdAsc(
+                            account.getAccountNumber()
+                    );
+        }
 
-        BigDecimal balance = account.getInitialBalance();
         for (Movement movement : activeMovements) {
             balance = applyMovement(balance, movement);
-            movement.setBalanceAfter(balance);
+            movement.setBalanceAfter(Money.toDecimal(balance));
         }
 
-        account.setCurrentBalance(balance);
+        account.setCurrentBalance(Money.toDecimal(balance));
         movementRepository.saveAll(activeMovements);
         accountRepository.save(account);
     }
 
-    private BigDecimal applyMovement(BigDecimal currentBalance, Movement movement) {
-        BigDecimal next = movement.getMovementType() == MovementType.RETIRO
-                ? currentBalance.subtract(movement.getAmount())
-                : currentBalance.add(movement.getAmount());
-        if (next.compareTo(BigDecimal.ZERO) < 0) {
+    private void reconcileBalancesFrom(Account account, OffsetDateTime affectedFrom) {
+        long balance = Money.toCents(movementRepository
+                .findFirstByAccountNumberAndMovementDateLessThanOrderByMovementDateDescCreatedAtDescMovementIdDesc(
+                        account.getAccountNumber(),
+                        affectedFrom
+                )
+                .map(Movement::getBalanceAfter)
+                .orElse(account.getInitialBalance()));
+
+        List<Movement> tail = movementRepository
+                .findByAccountNumberAndMovementDateGreaterThanEqualOrderByMovementDateAscCreatedAtAscMovementIdAsc(
+                        account.getAccountNumber(),
+                        affectedFrom
+                );
+
+        List<Movement> changed = new ArrayList<>();
+        for (Movement movement : tail) {
+            balance = applyMovement(balance, movement);
+            if (movement.getBalanceAfter() == null || Money.toCents(movement.getBalanceAfter()) != balance) {
+                movement.setBalanceAfter(Money.toDecimal(balance));
+                changed.add(movement);
+            }
+        }
+
+        account.setCurrentBalance(Money.toDecimal(balance));
+        movementRepository.saveAll(changed);
+        accountRepository.save(account);
+    }
+
+    private void reconcileBalancesInDatabase(Account account, OffsetDateTime affectedFrom) {
+        movementRepository.flush();
+        BalanceReconciliation reconciliation = movementRepository.reconcileFrom(account.getAccountNumber(), affectedFrom);
+        if (reconciliation.getNegative()) {
+            throw new UnprocessableEntityException("Balance would be negative after reconciliation");
+        }
+        entityManager.refresh(account);
+    }
+
+    private long applyMovement(long currentBalance, Movement movement) {
+        long amount = Money.toCents(movement.getAmount());
+        long next = movement.getMovementType() == MovementType.RETIRO
+                ? Math.subtractExact(currentBalance, amount)
+                : Math.addExact(currentBalance, amount);
+        if (next < 0) {
             throw new UnprocessableEntityException("Balance would be negative after reconciliation");
         }
         return next;
     }
 
+    private void publishActivity(UUID clienteId, String accountNumber, OffsetDateTime affectedFrom) {
+        eventPublisher.publishEvent(AccountActivityEvent.forAccount(clienteId, accountNumber, affectedFrom));
+    }
+
+    private OffsetDateTime earliest(OffsetDateTime first, OffsetDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
     private MovementType opposite(MovementType type) {
         return type == MovementType.RETIRO ? MovementType.DEPOSITO : MovementType.RETIRO;
     }
@@ -0,0 +1,142 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.dto.AccountTotalsResponse;
+import com.reto.tecnico.account_service.dto.PeriodTotalsResponse;
+import com.reto.tecnico.account_service.entity.Movement;
+import com.reto.tecnico.account_service.entity.MovementDailyTotal;
+import com.reto.tecnico.account_service.entity.MovementType;
+import com.reto.tecnico.account_service.exception.NotFoundException;
+import com.reto.tecnico.account_service.repository.AccountRepository;
+import com.reto.tecnico.account_service.repository.MovementDailyTotalRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class MovementTotalsService {
+
+    private final MovementDailyTotalRepository movementDailyTotalRepository;
+    private final AccountRepository accountRepository;
+
+    @Transactional
+    public void record(Movement movement) {
+        boolean deposit = movement.getMovementType() == MovementType.DEPOSITO;
+        movementDailyTotalRepository.addToDay(
+                movement.getAccountNumber(),
+                dayOf(movement.getMovementDate()),
+                deposit ? 1 : 0,
+                deposit ? movement.getAmount() : BigDecimal.ZERO,
+                deposit ? 0 : 1,
+                deposit ? BigDecimal.ZERO : movement.getAmount(),
+                movement.getBalanceAfter()
+        );
+    }
+
+    @Transactional
+    public void refreshFrom(String accountNumber, OffsetDateTime affectedFrom) {
+        movementDailyTotalRepository.refreshFrom(
+                accountNumber,
+                dayOf(affectedFrom).atStartOfDay().atOffset(ZoneOffset.UTC)
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public AccountTotalsResponse getTotals(String accountNumber, LocalDate desde, LocalDate hasta, String granularidad) {
+        Granularity granularity = Granularity.from(granularidad);
+        if (desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("desde must be before or equal to hasta");
+        }
+        if (!accountRepository.existsById(accountNumber)) {
+            throw new NotFoundException("Account not found");
+        }
+
+        List<PeriodTotalsResponse> periods = new ArrayList<>();
+        PeriodTotals current = null;
+        for (MovementDailyTotal day : movementDailyTotalRepository
+                .findByIdAccountNumberAndIdTotalDateBetweenOrderByIdTotalDateAsc(accountNumber, desde, hasta)) {
+            LocalDate periodStart = granularity.periodStart(day.getId().getTotalDate());
+            if (current == null || !current.start.equals(periodStart)) {
+                if (current != null) {
+                    periods.add(current.toResponse(desde, hasta, granularity));
+                }
+                current = new PeriodTotals(periodStart);
+            }
+            current.add(day);
+        }
+        if (current != null) {
+            periods.add(current.toResponse(desde, hasta, granularity));
+        }
+        return new AccountTotalsResponse(accountNumber, periods);
+    }
+
+    private LocalDate dayOf(OffsetDateTime dateTime) {
+        return dateTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+    }
+
+    enum Granularity {
+        DAY,
+        MONTH;
+
+        static Granularity from(String value) {
+            if (value == null || value.isBlank()) {
+                return DAY;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("granularidad must be day or month");
+            }
+        }
+
+        LocalDate periodStart(LocalDate day) {
+            return this == DAY ? day : day.withDayOfMonth(1);
+        }
+
+        LocalDate periodEnd(LocalDate start) {
+            return this == DAY ? start : start.with(TemporalAdjusters.lastDayOfMonth());
+        }
+    }
+
+    private static final class PeriodTotals {
+        private final LocalDate start;
+        private long depositCount;
+        private BigDecimal depositAmount = BigDecimal.ZERO;
+        private long withdrawalCount;
+        private BigDecimal withdrawalAmount = BigDecimal.ZERO;
+        private BigDecimal closingBalance;
+
+        private PeriodTotals(LocalDate start) {
+            this.start = start;
+        }
+
+        private void add(MovementDailyTotal day) {
+            depositCount += day.getDepositCount();
+            depositAmount = depositAmount.add(day.getDepositAmount());
+            withdrawalCount += day.getWithdrawalCount();
+            withdrawalAmount = withdrawalAmount.add(day.getWithdrawalAmount());
+            closingBalance = day.getClosingBalance();
+        }
+
+        private PeriodTotalsResponse toResponse(LocalDate desde, LocalDate hasta, Granularity granularity) {
+            LocalDate end = granularity.periodEnd(start);
+            return new PeriodTotalsResponse(
+                    start.isBefore(desde) ? desde : start,
+                    end.isAfter(hasta) ? hasta : end,
+                    depositCount,
+                    depositAmount,
+                    withdrawalCount,
+                    withdrawalAmount,
+                    closingBalance
+            );
+        }
+    }
+}
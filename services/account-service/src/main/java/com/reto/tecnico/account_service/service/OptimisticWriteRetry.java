@@ -0,0 +1,59 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.config.MovementProperties;
+import com.reto.tecnico.account_service.config.MovementProperties.WriteMode;
+import com.reto.tecnico.account_service.exception.ConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OptimisticWriteRetry {
+
+    private final MovementProperties movementProperties;
+    private final MeterRegistry meterRegistry;
+
+    public boolean isEnabled() {
+        return movementProperties.getWriteMode() == WriteMode.OPTIMISTIC;
+    }
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (!isEnabled()) {
+            return action.get();
+        }
+
+        MovementProperties.Optimistic settings = movementProperties.getOptimistic();
+        for (int attempt = 1; ; attempt++) {
+            meterRegistry.counter("movements.optimistic.attempts", "operation", operation).increment();
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException ex) {
+                meterRegistry.counter("movements.optimistic.conflicts", "operation", operation).increment();
+                if (attempt >= settings.getMaxAttempts()) {
+                    meterRegistry.counter("movements.optimistic.exhausted", "operation", operation).increment();
+                    throw new ConflictException("Concurrent update, please retry");
+                }
+                meterRegistry.counter("movements.optimistic.retries", "operation", operation).increment();
+                backoff(attempt, settings);
+            }
+        }
+    }
+
+    private void backoff(int attempt, MovementProperties.Optimistic settings) {
+        long ceiling = Math.min(
+                settings.getBackoffMax().toNanos(),
+                settings.getBackoffBase().toNanos() << Math.min(attempt - 1, 20)
+        );
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(delay / 1_000_000, (int) (delay % 1_000_000));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Concurrent update, please retry");
+        }
+    }
+}
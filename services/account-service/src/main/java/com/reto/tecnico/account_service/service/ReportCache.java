@@ -0,0 +1,210 @@
+package com.reto.tecnico.account_service.service;
+
+import com.reto.tecnico.account_service.config.ReportProperties;
+import com.reto.tecnico.account_service.dto.ReportAccountResponse;
+import com.reto.tecnico.account_service.dto.ReportResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class ReportCache {
+
+    private final ReportProperties reportProperties;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter invalidations;
+    private final LinkedHashMap<ReportCacheKey, CachedReport> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, Set<ReportCacheKey>> keysByCliente = new HashMap<>();
+    private final Map<String, UUID> clienteByAccount = new HashMap<>();
+    private final Map<UUID, Long> generations = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long globalGeneration;
+    private long weight;
+
+    public ReportCache(ReportProperties reportProperties, MeterRegistry meterRegistry, Clock clock) {
+        this.reportProperties = reportProperties;
+        this.clock = clock;
+        this.hits = meterRegistry.counter("reports.cache.gets", "result", "hit");
+        this.misses = meterRegistry.counter("reports.cache.gets", "result", "miss");
+        this.sizeEvictions = meterRegistry.counter("reports.cache.evictions", "cause", "size");
+        this.expiredEvictions = meterRegistry.counter("reports.cache.evictions", "cause", "expired");
+        this.invalidations = meterRegistry.counter("reports.cache.evictions", "cause", "invalidated");
+        Gauge.builder("reports.cache.entries", this, cache -> cache.size()).register(meterRegistry);
+        Gauge.builder("reports.cache.weight", this, cache -> cache.weight()).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return reportProperties.getCache().isEnabled();
+    }
+
+    Optional<ReportResponse> get(ReportCacheKey key) {
+        lock.lock();
+        try {
+            CachedReport cached = entries.get(key);
+            if (cached == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+            if (cached.expiresAt().isBefore(clock.instant())) {
+                remove(key);
+                expiredEvictions.increment();
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(cached.report());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long generation(UUID clienteId) {
+        lock.lock();
+        try {
+            return globalGeneration + generations.getOrDefault(clienteId, 0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(ReportCacheKey key, ReportResponse report, long generation) {
+        lock.lock();
+        try {
+            if (generation(key.clienteId()) != generation) {
+                return;
+            }
+            long reportWeight = weigh(report);
+            if (reportWeight > reportProperties.getCache().getMaxWeight()) {
+                return;
+            }
+
+            remove(key);
+            entries.put(key, new CachedReport(report, reportWeight, clock.instant().plus(reportProperties.getCache().getTtl())));
+            keysByCliente.computeIfAbsent(key.clienteId(), cliente -> new HashSet<>()).add(key);
+            report.accounts().forEach(account -> clienteByAccount.put(account.accountNumber(), key.clienteId()));
+            weight += reportWeight;
+
+            Iterator<Map.Entry<ReportCacheKey, CachedReport>> eldest = entries.entrySet().iterator();
+            while (weight > reportProperties.getCache().getMaxWeight() && eldest.hasNext()) {
+                Map.Entry<ReportCacheKey, CachedReport> candidate = eldest.next();
+                ReportCacheKey candidateKey = candidate.getKey();
+                CachedReport candidateReport = candidate.getValue();
+                eldest.remove();
+                forget(candidateKey, candidateReport);
+                sizeEvictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountActivity(AccountActivityEvent event) {
+        lock.lock();
+        try {
+            UUID clienteId = event.clienteId() != null ? event.clienteId() : clienteByAccount.get(event.accountNumber());
+            if (clienteId == null) {
+                globalGeneration++;
+                return;
+            }
+            generations.merge(clienteId, 1L, Long::sum);
+
+            Set<ReportCacheKey> keys = keysByCliente.get(clienteId);
+            if (keys == null) {
+                return;
+            }
+            LocalDate affectedDay = event.affectedFrom() != null
+                    ? event.affectedFrom().withOffsetSameInstant(ZoneOffset.UTC).toLocalDate()
+                    : null;
+            List<ReportCacheKey> affected = keys.stream()
+                    .filter(key -> affectedDay == null || !key.fechaHasta().isBefore(affectedDay))
+                    .toList();
+            affected.forEach(key -> {
+                remove(key);
+                invalidations.increment();
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            keysByCliente.clear();
+            clienteByAccount.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long weight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(ReportCacheKey key) {
+        CachedReport removed = entries.remove(key);
+        if (removed != null) {
+            forget(key, removed);
+        }
+    }
+
+    private void forget(ReportCacheKey key, CachedReport removed) {
+        Set<ReportCacheKey> keys = keysByCliente.get(key.clienteId());
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByCliente.remove(key.clienteId());
+                removed.report().accounts().forEach(account -> clienteByAccount.remove(account.accountNumber()));
+            }
+        }
+        weight -= removed.weight();
+    }
+
+    private long weigh(ReportResponse report) {
+        long movements = 0;
+        for (ReportAccountResponse account : report.accounts()) {
+            movements += account.movements().size();
+        }
+        return 1 + report.accounts().size() + movements;
+    }
+
+    private record CachedReport(ReportResponse report, long weight, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.reto.tecnico.account_service.service;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+record ReportCacheKey(UUID clienteId, LocalDate fechaDesde, LocalDate fechaHasta) {
+}
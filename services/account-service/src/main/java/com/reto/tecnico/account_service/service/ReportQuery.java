@@ -0,0 +1,16 @@
+package com.reto.tecnico.account_service.service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record ReportQuery(
+        UUID clienteId,
+        String identificacion,
+        String name,
+        LocalDate fechaDesde,
+        LocalDate fechaHasta,
+        OffsetDateTime start,
+        OffsetDateTime end
+) {
+}
@@ -1,21 +1,30 @@
 package com.reto.tecnico.account_service.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reto.tecnico.account_service.dto.MovementResponse;
 import com.reto.tecnico.account_service.dto.ReportAccountResponse;
 import com.reto.tecnico.account_service.dto.ReportResponse;
 import com.reto.tecnico.account_service.entity.Account;
-import com.reto.tecnico.account_service.entity.ClientSnapshot;
 import com.reto.tecnico.account_service.entity.Movement;
 import com.reto.tecnico.account_service.entity.MovementStatus;
 import com.reto.tecnico.account_service.exception.NotFoundException;
 import com.reto.tecnico.account_service.repository.AccountRepository;
-import com.reto.tecnico.account_service.repository.ClientSnapshotRepository;
 import com.reto.tecnico.account_service.repository.MovementRepository;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,25 +33,42 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ReportService {
 
-    private final ClientSnapshotRepository clientSnapshotRepository;
+    private final ClientSnapshotIndex clientSnapshotIndex;
     private final AccountRepository accountRepository;
     private final MovementRepository movementRepository;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final ReportCache reportCache;
 
     @Transactional(readOnly = true)
     public ReportResponse getReport(LocalDate fechaDesde, LocalDate fechaHasta, UUID clienteId, String identificacion) {
-        if (fechaDesde == null || fechaHasta == null) {
-            throw new IllegalArgumentException("fechaDesde and fechaHasta are required");
-        }
-        if (fechaDesde.isAfter(fechaHasta)) {
-            throw new IllegalArgumentException("fechaDesde must be before or equal to fechaHasta");
+        ReportQuery query = prepareReport(fechaDesde, fechaHasta, clienteId, identificacion);
+        if (!reportCache.isEnabled()) {
+            return buildReport(query);
         }
 
-        ClientSnapshot snapshot = resolveSnapshot(clienteId, identificacion);
+        ReportCacheKey key = new ReportCacheKey(query.clienteId(), query.fechaDesde(), query.fechaHasta());
+        Optional<ReportResponse> cached = reportCache.get(key);
+        if (cached.isPresent()) {
+            return withCurrentAccounts(cached.get(), query);
+        }
 
-        OffsetDateTime start = fechaDesde.atStartOfDay().atOffset(ZoneOffset.UTC);
-        OffsetDateTime end = fechaHasta.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC).minusNanos(1);
+        long generation = reportCache.generation(query.clienteId());
+        ReportResponse report = buildReport(query);
+        reportCache.put(key, report, generation);
+        return report;
+    }
 
-        List<Account> accounts = accountRepository.findByClienteId(snapshot.getClienteId());
+    private ReportResponse buildReport(ReportQuery query) {
+        List<Account> accounts = accountRepository.findByClienteIdOrderByAccountNumberAsc(query.clienteId());
+        Map<String, BigDecimal> openingBalances = openingBalances(accounts, query);
+        Map<String, List<MovementResponse>> movementsByAccount = movementRepository
+                .findReportMovements(query.clienteId(), MovementStatus.ACTIVE, query.start(), query.end()).stream()
+                .collect(Collectors.groupingBy(
+                        Movement::getAccountNumber,
+                        Collectors.mapping(this::toMovementResponse, Collectors.toList())
+                ));
 
         List<ReportAccountResponse> accountResponses = accounts.stream()
                 .map(account -> new ReportAccountResponse(
@@ -50,43 +76,121 @@ public class ReportService {
                         account.getAccountType(),
                         account.getInitialBalance(),
                         account.getCurrentBalance(),
-                        toMovementResponses(account.getAccountNumber(), start, end)
+                        openingBalances.get(account.getAccountNumber()),
+                        movementsByAccount.getOrDefault(account.getAccountNumber(), List.of())
                 ))
                 .toList();
 
         return new ReportResponse(
-                snapshot.getClienteId(),
-                snapshot.getIdentificacion(),
-                snapshot.getName(),
+                query.clienteId(),
+                query.identificacion(),
+                query.name(),
                 accountResponses
         );
     }
 
-    private ClientSnapshot resolveSnapshot(UUID clienteId, String identificacion) {
+    @Transactional(readOnly = true)
+    public ReportQuery prepareReport(LocalDate fechaDesde, LocalDate fechaHasta, UUID clienteId, String identificacion) {
+        if (fechaDesde == null || fechaHasta == null) {
+            throw new IllegalArgumentException("fechaDesde and fechaHasta are required");
+        }
+        if (fechaDesde.isAfter(fechaHasta)) {
+            throw new IllegalArgumentException("fechaDesde must be before or equal to fechaHasta");
+        }
+
+        ClientSummary client = resolveClient(clienteId, identificacion);
+        return new ReportQuery(
+                client.clienteId(),
+                client.identificacion(),
+                client.name(),
+                fechaDesde,
+                fechaHasta,
+                fechaDesde.atStartOfDay().atOffset(ZoneOffset.UTC),
+                fechaHasta.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC).minusNanos(1)
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public void writeReport(ReportQuery query, OutputStream output) throws IOException {
+        List<Account> accounts = accountRepository.findByClienteIdOrderByAccountNumberAsc(query.clienteId());
+        Map<String, BigDecimal> openingBalances = openingBalances(accounts, query);
+
+        try (JsonGenerator generator = objectMapper.createGenerator(output);
+             Stream<Movement> movements = movementRepository.streamReportMovements(
+                     query.clienteId(), MovementStatus.ACTIVE, query.start(), query.end()
+             )) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<Movement> cursor = movements.iterator();
+            Movement next = cursor.hasNext() ? cursor.next() : null;
+
+            generator.writeStartObject();
+            generator.writeObjectField("clienteId", query.clienteId());
+            generator.writeObjectField("identificacion", query.identificacion());
+            generator.writeObjectField("name", query.name());
+            generator.writeArrayFieldStart("accounts");
+            for (Account account : accounts) {
+                generator.writeStartObject();
+                generator.writeObjectField("accountNumber", account.getAccountNumber());
+                generator.writeObjectField("accountType", account.getAccountType());
+                generator.writeObjectField("initialBalance", account.getInitialBalance());
+                generator.writeObjectField("currentBalance", account.getCurrentBalance());
+                generator.writeObjectField("openingBalance", openingBalances.get(account.getAccountNumber()));
+                generator.writeArrayFieldStart("movements");
+                while (next != null && next.getAccountNumber().equals(account.getAccountNumber())) {
+                    entityManager.detach(next);
+                    generator.writeObject(toMovementResponse(next));
+                    next = cursor.hasNext() ? cursor.next() : null;
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private ReportResponse withCurrentAccounts(ReportResponse cached, ReportQuery query) {
+        Map<String, Account> accounts = accountRepository.findByClienteIdOrderByAccountNumberAsc(query.clienteId())
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+        List<ReportAccountResponse> accountResponses = cached.accounts().stream()
+                .map(account -> {
+                    Account current = accounts.get(account.accountNumber());
+                    if (current == null) {
+                        return account;
+                    }
+                    return new ReportAccountResponse(
+                            account.accountNumber(),
+                            current.getAccountType(),
+                            account.initialBalance(),
+                            current.getCurrentBalance(),
+                            account.openingBalance(),
+                            account.movements()
+                    );
+                })
+                .toList();
+        return new ReportResponse(query.clienteId(), query.identificacion(), query.name(), accountResponses);
+    }
+
+    private Map<String, BigDecimal> openingBalances(List<Account> accounts, ReportQuery query) {
+        return balanceCheckpointService.closingBalances(
+                accounts.stream().map(Account::getAccountNumber).toList(),
+                query.fechaDesde().minusDays(1)
+        );
+    }
+
+    private ClientSummary resolveClient(UUID clienteId, String identificacion) {
         if (clienteId != null) {
-            return clientSnapshotRepository.findById(clienteId)
+            return clientSnapshotIndex.findById(clienteId)
                     .orElseThrow(() -> new NotFoundException("Customer not found"));
         }
         if (identificacion == null || identificacion.isBlank()) {
             throw new IllegalArgumentException("clienteId or identificacion is required");
         }
-        return clientSnapshotRepository.findByIdentificacion(identificacion)
+        return clientSnapshotIndex.findByIdentificacion(identificacion)
                 .orElseThrow(() -> new NotFoundException("Customer not found"));
     }
 
-    private List<MovementResponse> toMovementResponses(String accountNumber, OffsetDateTime start, OffsetDateTime end) {
-        List<Movement> movements = movementRepository
-                .findByAccountNumberAndStatusAndMovementDateBetweenOrderByMovementDateAscCreatedAtAscMovementIdAsc(
-                        accountNumber,
-                        MovementStatus.ACTIVE,
-                        start,
-                        end
-                );
-        return movements.stream()
-                .map(this::toMovementResponse)
-                .toList();
-    }
-
     private MovementResponse toMovementResponse(Movement movement) {
         return new MovementResponse(
                 movement.getMovementId(),
@@ -1,17 +1,30 @@
 package com.reto.tecnico.account_service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reto.tecnico.account_service.config.AccountProperties;
+import com.reto.tecnico.account_service.config.LedgerProperties;
+import com.reto.tecnico.account_service.config.MovementProperties;
+import com.reto.tecnico.account_service.config.MovementProperties.ReconciliationMode;
+import com.reto.tecnico.account_service.config.MovementProperties.WriteMode;
 import com.reto.tecnico.account_service.config.RabbitProperties;
+import com.reto.tecnico.account_service.config.ReportProperties;
+import com.reto.tecnico.account_service.dto.BatchMovementRequest;
+import com.reto.tecnico.account_service.dto.CreateAccountRequest;
 import com.reto.tecnico.account_service.dto.CreateMovementRequest;
+import com.reto.tecnico.account_service.dto.MovementResponse;
 import com.reto.tecnico.account_service.dto.UpdateMovementRequest;
 import com.reto.tecnico.account_service.dto.VoidMovementRequest;
 import com.reto.tecnico.account_service.entity.Account;
@@ -19,18 +32,50 @@ import com.reto.tecnico.account_service.entity.ClientSnapshot;
 import com.reto.tecnico.account_service.entity.Movement;
 import com.reto.tecnico.account_service.entity.MovementStatus;
 import com.reto.tecnico.account_service.entity.MovementType;
+import com.reto.tecnico.account_service.exception.ConflictException;
+import com.reto.tecnico.account_service.ledger.LedgerEngine;
 import com.reto.tecnico.account_service.messaging.CustomerEvent;
 import com.reto.tecnico.account_service.messaging.CustomerEventPayload;
 import com.reto.tecnico.account_service.repository.AccountRepository;
+import com.reto.tecnico.account_service.repository.BalanceCheckpointRepository;
 import com.reto.tecnico.account_service.repository.ClientSnapshotRepository;
+import com.reto.tecnico.account_service.repository.IdempotencyRecordRepository;
+import com.reto.tecnico.account_service.repository.MovementDailyTotalRepository;
 import com.reto.tecnico.account_service.repository.MovementRepository;
+import com.reto.tecnico.account_service.repository.MovementSearchCriteria;
 import com.reto.tecnico.account_service.repository.ProcessedEventRepository;
+import com.reto.tecnico.account_service.service.BalanceCheckpointService;
+import com.reto.tecnico.account_service.service.EventProcessingService;
+import com.reto.tecnico.account_service.service.IdempotencyClaim;
+import com.reto.tecnico.account_service.service.IdempotencyService;
+import com.reto.tecnico.account_service.service.MovementCombiner;
+import com.reto.tecnico.account_service.service.MovementPartitionService;
+import com.reto.tecnico.account_service.service.MovementService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.YearMonth;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.awaitility.Awaitility;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -38,10 +83,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.util.unit.DataSize;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.containers.RabbitMQContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -68,6 +118,9 @@ class AccountServiceApplicationTests {
         registry.add("spring.rabbitmq.username", rabbit::getAdminUsername);
         registry.add("spring.rabbitmq.password", rabbit::getAdminPassword);
         registry.add("spring.sql.init.mode", () -> "always");
+        registry.add("spring.sql.init.separator", () -> ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector", SqlCapture.class::getName);
     }
 
     @Autowired
@@ -94,8 +147,62 @@ class AccountServiceApplicationTests {
     @Autowired
     private ProcessedEventRepository processedEventRepository;
 
+    @Autowired
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Autowired
+    private MovementDailyTotalRepository movementDailyTotalRepository;
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Autowired
+    private MovementCombiner movementCombiner;
+
+    @Autowired
+    private MovementProperties movementProperties;
+
+    @Autowired
+    private MovementService movementService;
+
+    @Autowired
+    private EventProcessingService eventProcessingService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReportProperties reportProperties;
+
+    @Autowired
+    private AccountProperties accountProperties;
+
+    @Autowired
+    private MovementPartitionService movementPartitionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LedgerProperties ledgerProperties;
+
     @BeforeEach
     void cleanDatabase() {
+        idempotencyRecordRepository.deleteAll();
+        balanceCheckpointRepository.deleteAll();
+        movementDailyTotalRepository.deleteAll();
         movementRepository.deleteAll();
         accountRepository.deleteAll();
         processedEventRepository.deleteAll();
@@ -151,6 +258,55 @@ class AccountServiceApplicationTests {
         });
     }
 
+    @Test
+    void clientLookupsAreServedFromTheInMemoryIndex() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        eventProcessingService.process(new CustomerEvent(
+                UUID.randomUUID(),
+                "CustomerCreated",
+                OffsetDateTime.now(ZoneOffset.UTC),
+                new CustomerEventPayload(clienteId, "ID-1960", "CC", "Indexed Client", true)
+        ));
+
+        SqlCapture.clear();
+        mockMvc.perform(post("/cuentas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateAccountRequest("ACC-1960", "AHORROS", new BigDecimal("10.00"), clienteId)
+                        )))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/reportes")
+                        .param("fechaDesde", "2026-01-01")
+                        .param("fechaHasta", "2026-01-31")
+                        .param("identificacion", "ID-1960"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Indexed Client"))
+                .andExpect(jsonPath("$.accounts.length()").value(1));
+        assertThat(SqlCapture.all()).noneMatch(sql -> sql.contains("client_snapshot"));
+
+        eventProcessingService.process(new CustomerEvent(
+                UUID.randomUUID(),
+                "CustomerUpdated",
+                OffsetDateTime.now(ZoneOffset.UTC),
+                new CustomerEventPayload(clienteId, "ID-1961", "CC", "Indexed Client", false)
+        ));
+
+        SqlCapture.clear();
+        mockMvc.perform(post("/cuentas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateAccountRequest("ACC-1961", "AHORROS", new BigDecimal("10.00"), clienteId)
+                        )))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/reportes")
+                        .param("fechaDesde", "2026-01-01")
+                        .param("fechaHasta", "2026-01-31")
+                        .param("identificacion", "ID-1961"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clienteId").value(clienteId.toString()));
+        assertThat(SqlCapture.all()).noneMatch(sql -> sql.contains("client_snapshot"));
+    }
+
     @Test
     void retiroInsufficientFundsReturns409AndBalanceUnchanged() throws Exception {
         UUID clienteId = UUID.randomUUID();
@@ -213,6 +369,7 @@ class AccountServiceApplicationTests {
         Movement inRange = new Movement();
         inRange.setMovementId(UUID.randomUUID());
         inRange.setAccountNumber("ACC-500");
+        inRange.setClienteId(clienteId);
         inRange.setMovementType(MovementType.DEPOSITO);
         inRange.setAmount(new BigDecimal("10.00"));
         inRange.setBalanceAfter(new BigDecimal("110.00"));
@@ -223,6 +380,7 @@ class AccountServiceApplicationTests {
         Movement outOfRange = new Movement();
         outOfRange.setMovementId(UUID.randomUUID());
         outOfRange.setAccountNumber("ACC-500");
+        outOfRange.setClienteId(clienteId);
         outOfRange.setMovementType(MovementType.DEPOSITO);
         outOfRange.setAmount(new BigDecimal("20.00"));
         outOfRange.setBalanceAfter(new BigDecimal("130.00"));
@@ -240,6 +398,718 @@ class AccountServiceApplicationTests {
                 .andExpect(jsonPath("$.accounts[0].movements.length()").value(1));
     }
 
+    @Test
+    void reportQueryCountDoesNotGrowWithAccounts() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-560");
+        OffsetDateTime movementDate = OffsetDateTime.of(2026, 1, 10, 10, 0, 0, 0, ZoneOffset.UTC);
+
+        createAccount(clienteId, "ACC-560-1", new BigDecimal("10.00"));
+        saveMovement("ACC-560-1", MovementType.DEPOSITO, "5.00", "15.00", movementDate);
+        reportStatementCount(clienteId);
+        long fewAccounts = reportStatementCount(clienteId);
+
+        for (int i = 2; i <= 6; i++) {
+            createAccount(clienteId, "ACC-560-" + i, new BigDecimal("10.00"));
+            saveMovement("ACC-560-" + i, MovementType.DEPOSITO, "5.00", "15.00", movementDate);
+            saveMovement("ACC-560-" + i, MovementType.RETIRO, "1.00", "14.00", movementDate.plusHours(1));
+        }
+        long manyAccounts = reportStatementCount(clienteId);
+
+        assertThat(manyAccounts).isEqualTo(fewAccounts).isLessThanOrEqualTo(3);
+        mockMvc.perform(get("/reportes")
+                        .param("fechaDesde", "2026-01-01")
+                        .param("fechaHasta", "2026-01-31")
+                        .param("clienteId", clienteId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts.length()").value(6))
+                .andExpect(jsonPath("$.accounts[0].accountNumber").value("ACC-560-1"))
+                .andExpect(jsonPath("$.accounts[0].movements.length()").value(1))
+                .andExpect(jsonPath("$.accounts[5].movements.length()").value(2))
+                .andExpect(jsonPath("$.accounts[5].movements[1].movementType").value("RETIRO"));
+    }
+
+    @Test
+    void streamingReportMatchesBufferedReport() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-565");
+        OffsetDateTime movementDate = OffsetDateTime.of(2026, 1, 10, 10, 0, 0, 0, ZoneOffset.UTC);
+        createAccount(clienteId, "ACC-565-1", new BigDecimal("10.00"));
+        createAccount(clienteId, "ACC-565-2", new BigDecimal("20.00"));
+        createAccount(clienteId, "ACC-565-3", new BigDecimal("30.00"));
+        saveMovement("ACC-565-1", MovementType.DEPOSITO, "5.00", "15.00", movementDate);
+        saveMovement("ACC-565-3", MovementType.RETIRO, "1.00", "29.00", movementDate);
+        saveMovement("ACC-565-3", MovementType.DEPOSITO, "2.00", "31.00", movementDate.plusDays(1));
+
+        MockHttpServletRequestBuilder report = get("/reportes")
+                .param("fechaDesde", "2026-01-01")
+                .param("fechaHasta", "2026-01-31")
+                .param("identificacion", "ID-565");
+        String buffered = mockMvc.perform(report)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        reportProperties.setStreaming(true);
+        try {
+            MvcResult started = mockMvc.perform(report)
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String streamed = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            assertThat(objectMapper.readTree(streamed)).isEqualTo(objectMapper.readTree(buffered));
+            assertThat(objectMapper.readTree(streamed).get("accounts").get(2).get("movements")).hasSize(2);
+
+            mockMvc.perform(get("/reportes")
+                            .param("fechaDesde", "2026-01-01")
+                            .param("fechaHasta", "2026-01-31")
+                            .param("identificacion", "ID-404"))
+                    .andExpect(status().isNotFound());
+        } finally {
+            reportProperties.setStreaming(false);
+        }
+    }
+
+    @Test
+    void reportCacheServesRepeatedReportsAndEvictsOnlyAffectedRanges() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-566");
+        createAccount(clienteId, "ACC-566", new BigDecimal("100.00"));
+        Movement deposit = saveMovement(
+                "ACC-566", MovementType.DEPOSITO, "10.00", "110.00",
+                OffsetDateTime.of(2026, 1, 10, 10, 0, 0, 0, ZoneOffset.UTC)
+        );
+
+        reportProperties.getCache().setEnabled(true);
+        try {
+            double hits = meterRegistry.counter("reports.cache.gets", "result", "hit").count();
+            double misses = meterRegistry.counter("reports.cache.gets", "result", "miss").count();
+            double invalidated = meterRegistry.counter("reports.cache.evictions", "cause", "invalidated").count();
+
+            cachedReport(clienteId, "2025-12-01", "2025-12-31");
+            cachedReport(clienteId, "2026-01-01", "2026-01-31")
+                    .andExpect(jsonPath("$.accounts[0].movements.length()").value(1));
+            cachedReport(clienteId, "2026-01-01", "2026-01-31")
+                    .andExpect(jsonPath("$.accounts[0].movements.length()").value(1));
+            assertThat(meterRegistry.counter("reports.cache.gets", "result", "hit").count()).isEqualTo(hits + 1);
+            assertThat(meterRegistry.counter("reports.cache.gets", "result", "miss").count()).isEqualTo(misses + 2);
+
+            mockMvc.perform(post("/movimientos")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new CreateMovementRequest("ACC-566", MovementType.DEPOSITO, new BigDecimal("5.00"))
+                            )))
+                    .andExpect(status().isCreated());
+            cachedReport(clienteId, "2026-01-01", "2026-01-31")
+                    .andExpect(jsonPath("$.accounts[0].currentBalance").value(105.00))
+                    .andExpect(jsonPath("$.accounts[0].movements.length()").value(1));
+            assertThat(meterRegistry.counter("reports.cache.gets", "result", "hit").count()).isEqualTo(hits + 2);
+
+            movementService.voidMovement(deposit.getMovementId(), "Duplicated");
+            assertThat(meterRegistry.counter("reports.cache.evictions", "cause", "invalidated").count())
+                    .isEqualTo(invalidated + 1);
+
+            cachedReport(clienteId, "2026-01-01", "2026-01-31")
+                    .andExpect(jsonPath("$.accounts[0].movements.length()").value(0));
+            cachedReport(clienteId, "2025-12-01", "2025-12-31");
+            assertThat(meterRegistry.counter("reports.cache.gets", "result", "hit").count()).isEqualTo(hits + 3);
+            assertThat(meterRegistry.counter("reports.cache.gets", "result", "miss").count()).isEqualTo(misses + 3);
+        } finally {
+            reportProperties.getCache().setEnabled(false);
+        }
+    }
+
+    @Test
+    void accountCacheServesPolledReadsAndIsWrittenThroughOnCommit() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-1950");
+        createAccount(clienteId, "ACC-1950", new BigDecimal("100.00"));
+
+        accountProperties.getCache().setEnabled(true);
+        try {
+            double hits = meterRegistry.counter("accounts.cache.gets", "result", "hit").count();
+            double misses = meterRegistry.counter("accounts.cache.gets", "result", "miss").count();
+            long staleReads = meterRegistry.timer("accounts.cache.staleness").count();
+
+            mockMvc.perform(get("/cuentas/ACC-1950"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.currentBalance").value(100.00));
+            SqlCapture.clear();
+            mockMvc.perform(get("/cuentas/ACC-1950"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.currentBalance").value(100.00));
+            assertThat(SqlCapture.all()).isEmpty();
+
+            createMovement("ACC-1950", MovementType.DEPOSITO, new BigDecimal("25.00"));
+            mockMvc.perform(put("/cuentas/ACC-1950")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"accountType\":\"CORRIENTE\"}"))
+                    .andExpect(status().isOk());
+            SqlCapture.clear();
+            mockMvc.perform(get("/cuentas/ACC-1950"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.currentBalance").value(125.00))
+                    .andExpect(jsonPath("$.accountType").value("CORRIENTE"));
+            assertThat(SqlCapture.all()).isEmpty();
+
+            movementProperties.setWriteMode(WriteMode.ATOMIC);
+            createMovement("ACC-1950", MovementType.RETIRO, new BigDecimal("5.00"));
+            mockMvc.perform(get("/cuentas/ACC-1950"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.currentBalance").value(120.00));
+
+            assertThat(meterRegistry.counter("accounts.cache.gets", "result", "hit").count()).isEqualTo(hits + 2);
+            assertThat(meterRegistry.counter("accounts.cache.gets", "result", "miss").count()).isEqualTo(misses + 2);
+            assertThat(meterRegistry.timer("accounts.cache.staleness").count()).isEqualTo(staleReads + 2);
+        } finally {
+            accountProperties.getCache().setEnabled(false);
+            movementProperties.setWriteMode(WriteMode.PESSIMISTIC);
+        }
+    }
+
+    @Test
+    void dailyTotalsFollowMovementWritesAndVoids() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-567");
+        createAccount(clienteId, "ACC-567", new BigDecimal("100.00"));
+        String today = LocalDate.now(ZoneOffset.UTC).toString();
+
+        UUID depositId = createMovement("ACC-567", MovementType.DEPOSITO, new BigDecimal("50.00"));
+        createMovement("ACC-567", MovementType.DEPOSITO, new BigDecimal("25.00"));
+        createMovement("ACC-567", MovementType.RETIRO, new BigDecimal("40.00"));
+
+        mockMvc.perform(get("/cuentas/{accountNumber}/totales", "ACC-567")
+                        .param("desde", today)
+                        .param("hasta", today))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.periods.length()").value(1))
+                .andExpect(jsonPath("$.periods[0].depositCount").value(2))
+                .andExpect(jsonPath("$.periods[0].depositAmount").value(75.00))
+                .andExpect(jsonPath("$.periods[0].withdrawalCount").value(1))
+                .andExpect(jsonPath("$.periods[0].withdrawalAmount").value(40.00))
+                .andExpect(jsonPath("$.periods[0].closingBalance").value(135.00));
+
+        mockMvc.perform(delete("/movimientos/{movementId}", depositId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/cuentas/{accountNumber}/totales", "ACC-567")
+                        .param("desde", LocalDate.now(ZoneOffset.UTC).minusMonths(1).toString())
+                        .param("hasta", today)
+                        .param("granularidad", "month"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.periods[-1].periodEnd").value(today))
+                .andExpect(jsonPath("$.periods[-1].depositCount").value(1))
+                .andExpect(jsonPath("$.periods[-1].withdrawalCount").value(2))
+                .andExpect(jsonPath("$.periods[-1].withdrawalAmount").value(90.00))
+                .andExpect(jsonPath("$.periods[-1].closingBalance").value(85.00));
+
+        mockMvc.perform(get("/cuentas/{accountNumber}/totales", "ACC-567")
+                        .param("desde", today)
+                        .param("hasta", today)
+                        .param("granularidad", "week"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void creatingAMonthPartitionMovesItsRowsOutOfTheDefaultPartition() {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-1700");
+        createAccount(clienteId, "ACC-1700", new BigDecimal("100.00"));
+        YearMonth month = YearMonth.of(2031, 5);
+        Movement stranded = saveMovement(
+                "ACC-1700", MovementType.DEPOSITO, "10.00", "110.00",
+                month.atDay(10).atStartOfDay().atOffset(ZoneOffset.UTC)
+        );
+        assertThat(partitionOf(stranded)).isEqualTo("movements_default");
+
+        assertThat(movementPartitionService.ensurePartitions(month, month)).isEqualTo(1);
+
+        assertThat(partitionOf(stranded)).isEqualTo(MovementPartitionService.partitionName(month));
+        assertThat(movementRepository.findById(stranded.getMovementId())).isPresent();
+        assertThat(meterRegistry.counter("movements.partitions.failures").count()).isZero();
+    }
+
+    @Test
+    void dateBoundedMovementQueriesPruneMonthlyPartitions() {
+        movementPartitionService.ensurePartitions(YearMonth.of(2026, 1), YearMonth.of(2026, 3));
+        UUID clienteId = UUID.randomUUID();
+        OffsetDateTime start = OffsetDateTime.of(2026, 2, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime end = start.plusMonths(1).minusNanos(1_000);
+
+        SqlCapture.clear();
+        movementRepository.findReportMovements(clienteId, MovementStatus.ACTIVE, start, end);
+        String reportPlan = explain(SqlCapture.last(), clienteId, MovementStatus.ACTIVE.name(), start, end);
+
+        SqlCapture.clear();
+        movementRepository.search(MovementSearchCriteria.of("ACC-568", clienteId, start, end, false), 10);
+        String searchPlan = explain(SqlCapture.last(), "ACC-568", clienteId, start, end, 10);
+
+        for (String plan : List.of(reportPlan, searchPlan)) {
+            assertThat(plan)
+                    .contains(MovementPartitionService.partitionName(YearMonth.of(2026, 2)))
+                    .doesNotContain(MovementPartitionService.partitionName(YearMonth.of(2026, 1)))
+                    .doesNotContain(MovementPartitionService.partitionName(YearMonth.of(2026, 3)))
+                    .doesNotContain("movements_default");
+        }
+    }
+
+    @Test
+    void movementSearchUsesAnIndexForEveryFilterCombination() {
+        movementPartitionService.ensurePartitions(YearMonth.of(2026, 1), YearMonth.of(2026, 3));
+        try {
+            jdbcTemplate.update("""
+                    insert into client_snapshot (cliente_id, identificacion, tipo_identificacion, name, active)
+                    select ('00000000-0000-0000-0000-' || lpad(c::text, 12, '0'))::uuid, 'ID-BULK-' || c, 'CC', 'Bulk', true
+                    from generate_series(1, 100) c
+                    """);
+            jdbcTemplate.update("""
+                    insert into accounts (account_number, account_type, initial_balance, current_balance, cliente_id)
+                    select 'BULK-' || a, 'AHORROS', 0, 0,
+                           ('00000000-0000-0000-0000-' || lpad((a % 100 + 1)::text, 12, '0'))::uuid
+                    from generate_series(1, 400) a
+                    """);
+            jdbcTemplate.update("""
+                    insert into movements (movement_id, account_number, cliente_id, movement_date, movement_type,
+                                           amount, balance_after, created_at, status)
+                    select gen_random_uuid(), 'BULK-' || (i % 400 + 1),
+                           ('00000000-0000-0000-0000-' || lpad(((i % 400 + 1) % 100 + 1)::text, 12, '0'))::uuid,
+                           timestamptz '2026-01-01 00:00:00+00' + i * interval '129 seconds',
+                           'DEPOSITO', 1, i, timestamptz '2026-01-01 00:00:00+00' + i * interval '129 seconds',
+                           case when i % 20 = 0 then 'VOIDED' else 'ACTIVE' end
+                    from generate_series(1, 60000) i
+                    """);
+            jdbcTemplate.execute("analyze client_snapshot");
+            jdbcTemplate.execute("analyze accounts");
+            jdbcTemplate.execute("analyze movements");
+
+            UUID clienteId = UUID.fromString("00000000-0000-0000-0000-000000000008");
+            OffsetDateTime from = OffsetDateTime.of(2026, 2, 10, 0, 0, 0, 0, ZoneOffset.UTC);
+            OffsetDateTime to = from.plusDays(2);
+            for (String accountNumber : new String[] {null, "BULK-7"}) {
+                for (UUID cliente : new UUID[] {null, clienteId}) {
+                    for (boolean dated : new boolean[] {false, true}) {
+                        for (boolean includeVoided : new boolean[] {false, true}) {
+                            MovementSearchCriteria criteria = MovementSearchCriteria.of(
+                                    accountNumber, cliente, dated ? from : null, dated ? to : null, includeVoided
+                            );
+                            List<Object> parameters = new ArrayList<>();
+                            if (accountNumber != null) {
+                                parameters.add(accountNumber);
+                            }
+                            if (cliente != null) {
+                                parameters.add(cliente);
+                            }
+                            if (dated) {
+                                parameters.add(from);
+                                parameters.add(to);
+                            }
+                            parameters.add(101);
+
+                            SqlCapture.clear();
+                            movementRepository.search(criteria, 101);
+                            String plan = explain(SqlCapture.last(), parameters.toArray());
+                            assertThat(plan).as("plan for %s", criteria).doesNotContain("on accounts");
+                            for (int month = 1; month <= 3; month++) {
+                                assertThat(plan)
+                                        .as("plan for %s", criteria)
+                                        .doesNotContain("Seq Scan on "
+                                                + MovementPartitionService.partitionName(YearMonth.of(2026, month)));
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            jdbcTemplate.update("delete from movements where account_number like 'BULK-%'");
+            jdbcTemplate.update("delete from accounts where account_number like 'BULK-%'");
+            jdbcTemplate.update("delete from client_snapshot where identificacion like 'ID-BULK-%'");
+        }
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, parameters));
+    }
+
+    private ResultActions cachedReport(UUID clienteId, String fechaDesde, String fechaHasta) throws Exception {
+        return mockMvc.perform(get("/reportes")
+                        .param("fechaDesde", fechaDesde)
+                        .param("fechaHasta", fechaHasta)
+                        .param("clienteId", clienteId.toString()))
+                .andExpect(status().isOk());
+    }
+
+    private long reportStatementCount(UUID clienteId) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/reportes")
+                        .param("fechaDesde", "2026-01-01")
+                        .param("fechaHasta", "2026-01-31")
+                        .param("clienteId", clienteId.toString()))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void idempotencyKeyCollapsesRetriesIntoOneMovement() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-2000");
+        createAccount(clienteId, "ACC-2000", new BigDecimal("100.00"));
+        CreateMovementRequest request = new CreateMovementRequest(
+                "ACC-2000",
+                MovementType.DEPOSITO,
+                new BigDecimal("10.00")
+        );
+
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        List<Future<UUID>> calls = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                calls.add(clients.submit(() -> idempotencyService.create("key-2000", request).movementId()));
+            }
+            UUID movementId = calls.get(0).get();
+            for (Future<UUID> call : calls) {
+                assertThat(call.get()).isEqualTo(movementId);
+            }
+        } finally {
+            clients.shutdown();
+        }
+        assertThat(movementRepository.count()).isEqualTo(1);
+        assertThat(accountRepository.findById("ACC-2000").orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo("110.00");
+
+        SqlCapture.clear();
+        mockMvc.perform(post("/movimientos")
+                        .header("Idempotency-Key", "key-2000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.movementId").value(calls.get(0).get().toString()))
+                .andExpect(jsonPath("$.balanceAfter").value(110.00));
+        assertThat(SqlCapture.all()).isEmpty();
+
+        mockMvc.perform(post("/movimientos")
+                        .header("Idempotency-Key", "key-2000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateMovementRequest(
+                                "ACC-2000", MovementType.DEPOSITO, new BigDecimal("20.00")
+                        ))))
+                .andExpect(status().isUnprocessableEntity());
+        assertThat(movementRepository.count()).isEqualTo(1);
+
+        jdbcTemplate.update("update idempotency_keys set expires_at = now() - interval '1 minute'");
+        assertThat(idempotencyService.deleteExpired()).isEqualTo(1);
+        assertThat(idempotencyRecordRepository.count()).isZero();
+    }
+
+    @Test
+    void batchPostsPerAccountInOrderAndRejectsItemsIndividually() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-550");
+        createAccount(clienteId, "ACC-551", new BigDecimal("100.00"));
+        createAccount(clienteId, "ACC-552", new BigDecimal("10.00"));
+
+        BatchMovementRequest request = new BatchMovementRequest(List.of(
+                new CreateMovementRequest("ACC-551", MovementType.RETIRO, new BigDecimal("60.00")),
+                new CreateMovementRequest("ACC-552", MovementType.DEPOSITO, new BigDecimal("5.00")),
+                new CreateMovementRequest("ACC-551", MovementType.RETIRO, new BigDecimal("60.00")),
+                new CreateMovementRequest("ACC-404", MovementType.DEPOSITO, new BigDecimal("1.00")),
+                new CreateMovementRequest("ACC-551", MovementType.DEPOSITO, new BigDecimal("20.00"))
+        ));
+
+        mockMvc.perform(post("/movimientos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(3))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.results[0].accepted").value(true))
+                .andExpect(jsonPath("$.results[0].movement.balanceAfter").value(40.00))
+                .andExpect(jsonPath("$.results[2].accepted").value(false))
+                .andExpect(jsonPath("$.results[2].error").value("Saldo no disponible"))
+                .andExpect(jsonPath("$.results[3].error").value("Account not found"))
+                .andExpect(jsonPath("$.results[4].movement.balanceAfter").value(60.00));
+
+        assertThat(accountRepository.findById("ACC-551").orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo("60.00");
+        assertThat(accountRepository.findById("ACC-552").orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo("15.00");
+        assertThat(movementRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void combinerAppliesConcurrentWithdrawalsInOneLockAndRejectsOverdrafts() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-560");
+        createAccount(clienteId, "ACC-560", new BigDecimal("100.00"));
+
+        movementProperties.getCombiner().setEnabled(true);
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        try {
+            AtomicInteger rejected = new AtomicInteger();
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                calls.add(clients.submit(() -> {
+                    try {
+                        movementCombiner.create(new CreateMovementRequest(
+                                "ACC-560",
+                                MovementType.RETIRO,
+                                new BigDecimal("10.00")
+                        ));
+                    } catch (ConflictException ex) {
+                        assertThat(ex.getMessage()).isEqualTo("Saldo no disponible");
+                        rejected.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+            assertThat(rejected.get()).isEqualTo(6);
+        } finally {
+            clients.shutdown();
+            movementProperties.getCombiner().setEnabled(false);
+        }
+
+        assertThat(accountRepository.findById("ACC-560").orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo("0.00");
+        assertThat(movementRepository.count()).isEqualTo(10);
+    }
+
+    @Test
+    void atomicWriteModeAppliesGuardedBalanceUpdate() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-570");
+        createAccount(clienteId, "ACC-570", new BigDecimal("50.00"));
+
+        movementProperties.setWriteMode(WriteMode.ATOMIC);
+        try {
+            createMovement("ACC-570", MovementType.RETIRO, new BigDecimal("20.00"));
+
+            mockMvc.perform(post("/movimientos")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateMovementRequest(
+                                    "ACC-570",
+                                    MovementType.RETIRO,
+                                    new BigDecimal("40.00")
+                            ))))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value("Saldo no disponible"));
+
+            mockMvc.perform(post("/movimientos")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateMovementRequest(
+                                    "ACC-404",
+                                    MovementType.DEPOSITO,
+                                    new BigDecimal("1.00")
+                            ))))
+                    .andExpect(status().isNotFound());
+        } finally {
+            movementProperties.setWriteMode(WriteMode.PESSIMISTIC);
+        }
+
+        assertThat(accountRepository.findById("ACC-570").orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo("30.00");
+        assertThat(movementRepository.findAll())
+                .singleElement()
+                .satisfies(movement -> assertThat(movement.getBalanceAfter()).isEqualByComparingTo("30.00"));
+    }
+
+    @Test
+    void optimisticWriteModeRetriesVersionConflicts() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-580");
+        createAccount(clienteId, "ACC-580", new BigDecimal("100.00"));
+
+        movementProperties.setWriteMode(WriteMode.OPTIMISTIC);
+        movementProperties.getOptimistic().setMaxAttempts(100);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                calls.add(clients.submit(() -> movementService.create(new CreateMovementRequest(
+                        "ACC-580",
+                        MovementType.DEPOSITO,
+                        new BigDecimal("10.00")
+                ))));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            clients.shutdown();
+            movementProperties.getOptimistic().setMaxAttempts(5);
+            movementProperties.setWriteMode(WriteMode.PESSIMISTIC);
+        }
+
+        Account account = accountRepository.findById("ACC-580").orElseThrow();
+        assertThat(account.getCurrentBalance()).isEqualByComparingTo("180.00");
+        assertThat(account.getVersion()).isGreaterThanOrEqualTo(8L);
+        assertThat(movementRepository.count()).isEqualTo(8);
+        assertThat(meterRegistry.counter("movements.optimistic.attempts", "operation", "create").count())
+                .isGreaterThanOrEqualTo(8);
+    }
+
+    @Test
+    void ledgerKeepsIdempotencyClaimPendingUnlessPostingFails() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-595");
+        createAccount(clienteId, "ACC-595", new BigDecimal("100.00"));
+
+        List<String> calls = new CopyOnWriteArrayList<>();
+        IdempotencyClaim claim = new IdempotencyClaim() {
+            @Override
+            public boolean acquire() {
+                calls.add("acquire");
+                return true;
+            }
+
+            @Override
+            public void complete(MovementResponse response) {
+                calls.add("complete");
+                throw new IllegalStateException("Database unavailable");
+            }
+
+            @Override
+            public void release() {
+                calls.add("release");
+            }
+        };
+
+        ledgerProperties.setEnabled(true);
+        ledgerEngine.start();
+        try {
+            Optional<MovementResponse> created = movementService.create(
+                    new CreateMovementRequest("ACC-595", MovementType.DEPOSITO, new BigDecimal("10.00")), claim
+            );
+            assertThat(created).map(MovementResponse::balanceAfter).hasValueSatisfying(
+                    balance -> assertThat(balance).isEqualByComparingTo("110.00")
+            );
+            assertThat(calls).containsExactly("acquire", "complete");
+
+            calls.clear();
+            assertThatThrownBy(() -> movementService.create(
+                    new CreateMovementRequest("ACC-595", MovementType.RETIRO, new BigDecimal("500.00")), claim
+            )).isInstanceOf(ConflictException.class);
+            assertThat(calls).containsExactly("acquire", "release");
+        } finally {
+            ledgerEngine.stop();
+            ledgerProperties.setEnabled(false);
+        }
+    }
+
+    @Test
+    void ledgerRejectsMovementsWhileTheJournalCannotRollOver() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-597");
+        createAccount(clienteId, "ACC-597", new BigDecimal("100.00"));
+        String journalFull = "Ledger journal is full and cannot roll over until pending movements are persisted";
+
+        Duration persistTimeout = ledgerProperties.getPersistTimeout();
+        Path journal = Files.createTempDirectory("ledger").resolve("ledger.journal");
+        ledgerProperties.setEnabled(true);
+        ledgerProperties.setPersistTimeout(Duration.ofMillis(300));
+        ledgerProperties.getJournal().setEnabled(true);
+        ledgerProperties.getJournal().setPath(journal.toString());
+        ledgerProperties.getJournal().setSize(DataSize.ofBytes(160));
+        ledgerEngine.start();
+        try (Connection lock = jdbcTemplate.getDataSource().getConnection()) {
+            lock.setAutoCommit(false);
+            lock.createStatement().execute("select 1 from accounts where account_number = 'ACC-597' for update");
+
+            createMovement("ACC-597", MovementType.DEPOSITO, new BigDecimal("10.00"));
+            for (int i = 0; i < 2; i++) {
+                mockMvc.perform(post("/movimientos")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new CreateMovementRequest(
+                                        "ACC-597", MovementType.DEPOSITO, new BigDecimal("20.00")
+                                ))))
+                        .andExpect(status().isServiceUnavailable())
+                        .andExpect(jsonPath("$.message").value(journalFull));
+            }
+
+            lock.rollback();
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> mockMvc.perform(post("/movimientos")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(new CreateMovementRequest(
+                                            "ACC-597", MovementType.DEPOSITO, new BigDecimal("5.00")
+                                    ))))
+                            .andExpect(status().isCreated()));
+        } finally {
+            ledgerEngine.stop();
+            ledgerProperties.getJournal().setSize(DataSize.ofMegabytes(64));
+            ledgerProperties.getJournal().setEnabled(false);
+            ledgerProperties.setPersistTimeout(persistTimeout);
+            ledgerProperties.setEnabled(false);
+        }
+
+        assertThat(accountRepository.findById("ACC-597").orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo("115.00");
+        assertThat(movementRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void ledgerEngineJournalsMovementsAndPersistsAsynchronously() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-590");
+        createAccount(clienteId, "ACC-590", new BigDecimal("100.00"));
+
+        Path journal = Files.createTempDirectory("ledger").resolve("ledger.journal");
+        ledgerProperties.setEnabled(true);
+        ledgerProperties.getJournal().setEnabled(true);
+        ledgerProperties.getJournal().setPath(journal.toString());
+        ledgerEngine.start();
+        try {
+            createAccount(clienteId, "ACC-591", new BigDecimal("5.00"));
+
+            createMovement("ACC-590", MovementType.DEPOSITO, new BigDecimal("50.00"));
+            UUID withdrawalId = createMovement("ACC-590", MovementType.RETIRO, new BigDecimal("120.00"));
+            createMovement("ACC-591", MovementType.DEPOSITO, new BigDecimal("1.50"));
+
+            mockMvc.perform(post("/movimientos")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateMovementRequest(
+                                    "ACC-590",
+                                    MovementType.RETIRO,
+                                    new BigDecimal("30.01")
+                            ))))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value("Saldo no disponible"));
+
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> assertThat(movementRepository.count()).isEqualTo(3));
+
+            mockMvc.perform(delete("/movimientos/{movementId}", withdrawalId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new VoidMovementRequest("Customer request"))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.newCurrentBalance").value(150.00));
+
+            createMovement("ACC-590", MovementType.DEPOSITO, new BigDecimal("20.00"));
+        } finally {
+            ledgerEngine.stop();
+            ledgerProperties.getJournal().setEnabled(false);
+            ledgerProperties.setEnabled(false);
+        }
+
+        assertThat(accountRepository.findById("ACC-590").orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo("170.00");
+        assertThat(accountRepository.findById("ACC-591").orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo("6.50");
+        assertThat(movementRepository.findByAccountNumberOrderByMovementDateAscCreatedAtAscMovementIdAsc("ACC-590"))
+                .extracting(Movement::getBalanceAfter)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(
+                        new BigDecimal("150.00"),
+                        new BigDecimal("30.00"),
+                        new BigDecimal("150.00"),
+                        new BigDecimal("170.00")
+                );
+    }
+
     @Test
     void listMovementsAndBalances() throws Exception {
         UUID clienteId = UUID.randomUUID();
@@ -259,6 +1129,75 @@ class AccountServiceApplicationTests {
                 .andExpect(jsonPath("$[0].status").value("ACTIVE"));
     }
 
+    @Test
+    void searchPagesWithKeysetCursor() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-610");
+        createAccount(clienteId, "ACC-610", new BigDecimal("0.00"));
+
+        OffsetDateTime sameInstant = OffsetDateTime.of(2026, 2, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            OffsetDateTime movementDate = i <= 3 ? sameInstant : sameInstant.plusDays(i);
+            expected.add(saveMovement("ACC-610", MovementType.DEPOSITO, "1.00", i + ".00", movementDate).getMovementId());
+        }
+        expected.sort(Comparator.comparing((UUID id) -> movementRepository.findById(id).orElseThrow().getMovementDate())
+                .thenComparing(UUID::toString));
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/movimientos").param("accountNumber", "ACC-610").param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            objectMapper.readTree(result.getResponse().getContentAsString())
+                    .forEach(movement -> seen.add(movement.get("movementId").asText()));
+            cursor = result.getResponse().getHeader("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(expected.stream().map(UUID::toString).toList());
+
+        mockMvc.perform(get("/movimientos").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/movimientos").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportStreamsMovementsAsNdjson() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-620");
+        createAccount(clienteId, "ACC-620", new BigDecimal("0.00"));
+        for (int i = 1; i <= 3; i++) {
+            saveMovement("ACC-620", MovementType.DEPOSITO, "1.00", i + ".00",
+                    OffsetDateTime.of(2026, 2, i, 9, 0, 0, 0, ZoneOffset.UTC));
+        }
+
+        MvcResult started = mockMvc.perform(get("/movimientos")
+                        .param("clienteId", clienteId.toString())
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines)
+                .extracting(line -> objectMapper.readTree(line).get("balanceAfter").decimalValue())
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("1.00"), new BigDecimal("2.00"), new BigDecimal("3.00"));
+    }
+
     @Test
     void voidDepositCreatesReversalAndReconcilesBalances() throws Exception {
         UUID clienteId = UUID.randomUUID();
@@ -329,6 +1268,102 @@ class AccountServiceApplicationTests {
         assertThat(account.getCurrentBalance()).isEqualByComparingTo("50.00");
     }
 
+    @Test
+    void rectifyWithBackdatedReplacementReconcilesLaterBalances() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-850");
+        createAccount(clienteId, "ACC-850", new BigDecimal("100.00"));
+
+        UUID depositId = createMovement("ACC-850", MovementType.DEPOSITO, new BigDecimal("50.00"));
+        UUID withdrawalId = createMovement("ACC-850", MovementType.RETIRO, new BigDecimal("30.00"));
+
+        UpdateMovementRequest request = new UpdateMovementRequest(
+                MovementType.DEPOSITO,
+                new BigDecimal("10.00"),
+                OffsetDateTime.now(ZoneOffset.UTC).minusDays(1)
+        );
+
+        MvcResult result = mockMvc.perform(put("/movimientos/{movementId}", depositId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        UUID reversalId = UUID.fromString(response.get("reversalMovementId").asText());
+        UUID replacementId = UUID.fromString(response.get("replacementMovementId").asText());
+
+        assertThat(movementRepository.findById(replacementId).orElseThrow().getBalanceAfter())
+                .isEqualByComparingTo("110.00");
+        assertThat(movementRepository.findById(depositId).orElseThrow().getBalanceAfter())
+                .isEqualByComparingTo("160.00");
+        assertThat(movementRepository.findById(withdrawalId).orElseThrow().getBalanceAfter())
+                .isEqualByComparingTo("130.00");
+        assertThat(movementRepository.findById(reversalId).orElseThrow().getBalanceAfter())
+                .isEqualByComparingTo("80.00");
+
+        Account account = accountRepository.findById("ACC-850").orElseThrow();
+        assertThat(account.getCurrentBalance()).isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    void setBasedReconciliationRecomputesBalancesInTheDatabase() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-875");
+        createAccount(clienteId, "ACC-875", new BigDecimal("100.00"));
+
+        UUID depositId = createMovement("ACC-875", MovementType.DEPOSITO, new BigDecimal("50.00"));
+        UUID withdrawalId = createMovement("ACC-875", MovementType.RETIRO, new BigDecimal("30.00"));
+
+        movementProperties.getReconciliation().setMode(ReconciliationMode.SET_BASED);
+        try {
+            UpdateMovementRequest request = new UpdateMovementRequest(
+                    MovementType.DEPOSITO,
+                    new BigDecimal("10.00"),
+                    OffsetDateTime.now(ZoneOffset.UTC).minusDays(1)
+            );
+
+            SqlCapture.clear();
+            MvcResult result = mockMvc.perform(put("/movimientos/{movementId}", depositId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.newCurrentBalance").value(80.00))
+                    .andReturn();
+            assertThat(SqlCapture.all())
+                    .anyMatch(sql -> sql.startsWith("with opening"))
+                    .noneMatch(sql -> sql.startsWith("select") && sql.contains("movement_date>="));
+
+            JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+            UUID reversalId = UUID.fromString(response.get("reversalMovementId").asText());
+            UUID replacementId = UUID.fromString(response.get("replacementMovementId").asText());
+
+            assertThat(movementRepository.findById(replacementId).orElseThrow().getBalanceAfter())
+                    .isEqualByComparingTo("110.00");
+            assertThat(movementRepository.findById(depositId).orElseThrow().getBalanceAfter())
+                    .isEqualByComparingTo("160.00");
+            assertThat(movementRepository.findById(withdrawalId).orElseThrow().getBalanceAfter())
+                    .isEqualByComparingTo("130.00");
+            assertThat(movementRepository.findById(reversalId).orElseThrow().getBalanceAfter())
+                    .isEqualByComparingTo("80.00");
+            assertThat(accountRepository.findById("ACC-875").orElseThrow().getCurrentBalance())
+                    .isEqualByComparingTo("80.00");
+
+            createMovement("ACC-875", MovementType.RETIRO, new BigDecimal("75.00"));
+            mockMvc.perform(delete("/movimientos/{movementId}", replacementId))
+                    .andExpect(status().isUnprocessableEntity());
+
+            assertThat(movementRepository.findById(replacementId).orElseThrow().getStatus())
+                    .isEqualTo(MovementStatus.ACTIVE);
+            assertThat(movementRepository.findById(replacementId).orElseThrow().getBalanceAfter())
+                    .isEqualByComparingTo("110.00");
+            assertThat(accountRepository.findById("ACC-875").orElseThrow().getCurrentBalance())
+                    .isEqualByComparingTo("5.00");
+        } finally {
+            movementProperties.getReconciliation().setMode(ReconciliationMode.INCREMENTAL);
+        }
+    }
+
     @Test
     void voidingDepositThatBreaksBalanceReturns422AndRollsBack() throws Exception {
         UUID clienteId = UUID.randomUUID();
@@ -350,6 +1385,91 @@ class AccountServiceApplicationTests {
         assertThat(movementRepository.count()).isEqualTo(2);
     }
 
+    @Test
+    void balanceAsOfDateUsesCheckpointAndTail() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-950");
+        createAccount(clienteId, "ACC-950", new BigDecimal("100.00"));
+
+        saveMovement("ACC-950", MovementType.DEPOSITO, "10.00", "110.00",
+                OffsetDateTime.of(2026, 1, 10, 10, 0, 0, 0, ZoneOffset.UTC));
+        saveMovement("ACC-950", MovementType.RETIRO, "30.00", "80.00",
+                OffsetDateTime.of(2026, 1, 20, 10, 0, 0, 0, ZoneOffset.UTC));
+
+        assertThat(balanceCheckpointService.checkpoint(LocalDate.of(2026, 1, 15))).isEqualTo(1);
+        assertThat(balanceCheckpointRepository.findAll())
+                .singleElement()
+                .satisfies(checkpoint -> assertThat(checkpoint.getClosingBalance()).isEqualByComparingTo("110.00"));
+
+        mockMvc.perform(get("/cuentas/{accountNumber}/saldo", "ACC-950").param("fecha", "2026-01-05"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(100.00));
+        mockMvc.perform(get("/cuentas/{accountNumber}/saldo", "ACC-950").param("fecha", "2026-01-15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(110.00));
+        mockMvc.perform(get("/cuentas/{accountNumber}/saldo", "ACC-950").param("fecha", "2026-01-25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(80.00));
+
+        mockMvc.perform(get("/reportes")
+                        .param("fechaDesde", "2026-01-16")
+                        .param("fechaHasta", "2026-01-31")
+                        .param("clienteId", clienteId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts[0].openingBalance").value(110.00))
+                .andExpect(jsonPath("$.accounts[0].movements.length()").value(1));
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static String last() {
+            return STATEMENTS.get(STATEMENTS.size() - 1);
+        }
+
+        static List<String> all() {
+            return List.copyOf(STATEMENTS);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private Movement saveMovement(
+            String accountNumber,
+            MovementType type,
+            String amount,
+            String balanceAfter,
+            OffsetDateTime movementDate
+    ) {
+        Movement movement = new Movement();
+        movement.setMovementId(UUID.randomUUID());
+        movement.setAccountNumber(accountNumber);
+        movement.setClienteId(accountRepository.findById(accountNumber).orElseThrow().getClienteId());
+        movement.setMovementType(type);
+        movement.setAmount(new BigDecimal(amount));
+        movement.setBalanceAfter(new BigDecimal(balanceAfter));
+        movement.setMovementDate(movementDate);
+        movement.setCreatedAt(movementDate);
+        return movementRepository.save(movement);
+    }
+
+    private String partitionOf(Movement movement) {
+        return jdbcTemplate.queryForObject(
+                "select tableoid::regclass::text from movements where movement_id = ?",
+                String.class,
+                movement.getMovementId()
+        );
+    }
+
     private ClientSnapshot createSnapshot(UUID clienteId, String identificacion) {
         ClientSnapshot snapshot = new ClientSnapshot();
         snapshot.setClienteId(clienteId);
@@ -0,0 +1,229 @@
+package com.reto.tecnico.account_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reto.tecnico.account_service.config.MovementProperties;
+import com.reto.tecnico.account_service.datasource.ConsistencyToken;
+import com.reto.tecnico.account_service.dto.CreateMovementRequest;
+import com.reto.tecnico.account_service.entity.Account;
+import com.reto.tecnico.account_service.entity.ClientSnapshot;
+import com.reto.tecnico.account_service.entity.MovementType;
+import com.reto.tecnico.account_service.repository.AccountRepository;
+import com.reto.tecnico.account_service.repository.ClientSnapshotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * The replica pool points at the primary database with {@code replica_sim} ahead of {@code pg_catalog} on its
+ * search path, so {@code pg_last_wal_replay_lsn()} resolves to a function the test controls.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class ReadReplicaRoutingTests {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static final RabbitMQContainer rabbit = new RabbitMQContainer("rabbitmq:3.13-alpine");
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> "1");
+        registry.add("spring.datasource.hikari.connection-timeout", () -> "2000");
+        registry.add("spring.rabbitmq.host", rabbit::getHost);
+        registry.add("spring.rabbitmq.port", rabbit::getAmqpPort);
+        registry.add("spring.rabbitmq.username", rabbit::getAdminUsername);
+        registry.add("spring.rabbitmq.password", rabbit::getAdminPassword);
+        registry.add("app.replica.enabled", () -> "true");
+        registry.add("app.replica.url", () -> postgres.getJdbcUrl() + "&currentSchema=replica_sim,public,pg_catalog");
+        registry.add("app.replica.username", postgres::getUsername);
+        registry.add("app.replica.password", postgres::getPassword);
+        registry.add("spring.sql.init.mode", () -> "always");
+        registry.add("spring.sql.init.separator", () -> ScriptUtils.EOF_STATEMENT_SEPARATOR);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientSnapshotRepository clientSnapshotRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MovementProperties movementProperties;
+
+    @BeforeEach
+    void simulateReplica() {
+        jdbcTemplate.execute("create schema if not exists replica_sim");
+        jdbcTemplate.execute("create table if not exists replica_sim.replay (lsn pg_lsn)");
+        jdbcTemplate.execute("""
+                create or replace function replica_sim.pg_last_wal_replay_lsn() returns pg_lsn
+                language sql as $$
+                    select coalesce((select lsn from replica_sim.replay), pg_catalog.pg_current_wal_lsn())
+                $$
+                """);
+        jdbcTemplate.update("delete from replica_sim.replay");
+    }
+
+    @Test
+    void readOnlyRequestsUseReplicaUnlessItIsBehindTheClientToken() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-1900");
+        createAccount(clienteId, "ACC-1900", new BigDecimal("100.00"));
+
+        CreateMovementRequest request = new CreateMovementRequest(
+                "ACC-1900",
+                MovementType.DEPOSITO,
+                new BigDecimal("40.00")
+        );
+        String token = mockMvc.perform(post("/movimientos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getHeader(ConsistencyToken.HEADER);
+        assertThat(ConsistencyToken.parse(token)).isNotNull().isPositive();
+
+        double replicaReads = meterRegistry.counter("datasource.reads", "target", "replica").count();
+        double primaryReads = meterRegistry.counter("datasource.reads", "target", "primary").count();
+        mockMvc.perform(get("/cuentas/ACC-1900").header(ConsistencyToken.HEADER, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentBalance").value(140.00));
+        assertThat(meterRegistry.counter("datasource.reads", "target", "replica").count())
+                .isEqualTo(replicaReads + 1);
+
+        jdbcTemplate.update("insert into replica_sim.replay (lsn) values ('0/1')");
+        mockMvc.perform(get("/cuentas/ACC-1900").header(ConsistencyToken.HEADER, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentBalance").value(140.00));
+        assertThat(meterRegistry.counter("datasource.reads", "target", "primary").count())
+                .isEqualTo(primaryReads + 1);
+
+        mockMvc.perform(get("/cuentas/ACC-1900"))
+                .andExpect(status().isOk());
+        assertThat(meterRegistry.counter("datasource.reads", "target", "replica").count())
+                .isEqualTo(replicaReads + 2);
+        assertThat(meterRegistry.counter("datasource.reads", "target", "primary").count())
+                .isEqualTo(primaryReads + 1);
+    }
+
+    @Test
+    void exportReadsFromPrimaryWhileReplicaIsBehindTheClientToken() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-1910");
+        createAccount(clienteId, "ACC-1910", new BigDecimal("100.00"));
+        String token = postDeposit("ACC-1910");
+        jdbcTemplate.update("insert into replica_sim.replay (lsn) values ('0/1')");
+
+        double replicaReads = meterRegistry.counter("datasource.reads", "target", "replica").count();
+        double primaryReads = meterRegistry.counter("datasource.reads", "target", "primary").count();
+        MvcResult started = mockMvc.perform(get("/movimientos")
+                        .header(ConsistencyToken.HEADER, token)
+                        .param("accountNumber", "ACC-1910")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String exported = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(exported.lines()).hasSize(1);
+        assertThat(meterRegistry.counter("datasource.reads", "target", "primary").count())
+                .isEqualTo(primaryReads + 1);
+        assertThat(meterRegistry.counter("datasource.reads", "target", "replica").count())
+                .isEqualTo(replicaReads);
+    }
+
+    @Test
+    void combinedMovementsReturnAConsistencyToken() throws Exception {
+        UUID clienteId = UUID.randomUUID();
+        createSnapshot(clienteId, "ID-1920");
+        createAccount(clienteId, "ACC-1920", new BigDecimal("100.00"));
+
+        movementProperties.getCombiner().setEnabled(true);
+        try {
+            assertThat(ConsistencyToken.parse(postDeposit("ACC-1920"))).isNotNull().isPositive();
+        } finally {
+            movementProperties.getCombiner().setEnabled(false);
+        }
+    }
+
+    private String postDeposit(String accountNumber) throws Exception {
+        CreateMovementRequest request = new CreateMovementRequest(
+                accountNumber,
+                MovementType.DEPOSITO,
+                new BigDecimal("40.00")
+        );
+        return mockMvc.perform(post("/movimientos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getHeader(ConsistencyToken.HEADER);
+    }
+
+    private ClientSnapshot createSnapshot(UUID clienteId, String identificacion) {
+        ClientSnapshot snapshot = new ClientSnapshot();
+        snapshot.setClienteId(clienteId);
+        snapshot.setIdentificacion(identificacion);
+        snapshot.setTipoIdentificacion("CC");
+        snapshot.setName("Test Client");
+        snapshot.setActive(true);
+        return clientSnapshotRepository.save(snapshot);
+    }
+
+    private Account createAccount(UUID clienteId, String accountNumber, BigDecimal balance) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountType("AHORROS");
+        account.setInitialBalance(balance);
+        account.setCurrentBalance(balance);
+        account.setActive(true);
+        account.setClienteId(clienteId);
+        return accountRepository.save(account);
+    }
+}
@@ -1,16 +1,22 @@
 package com.reto.tecnico.account_service.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reto.tecnico.account_service.dto.AccountResponse;
 import com.reto.tecnico.account_service.dto.CreateAccountRequest;
+import com.reto.tecnico.account_service.dto.UpdateAccountRequest;
+import com.reto.tecnico.account_service.entity.Account;
 import com.reto.tecnico.account_service.service.AccountService;
+import com.reto.tecnico.account_service.service.MovementTotalsService;
 import java.math.BigDecimal;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -19,6 +25,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(AccountController.class)
@@ -33,6 +40,9 @@ class AccountControllerWebMvcTest {
     @MockBean
     private AccountService accountService;
 
+    @MockBean
+    private MovementTotalsService movementTotalsService;
+
     @Test
     void createReturnsCreatedAndCallsService() throws Exception {
         UUID clienteId = UUID.randomUUID();
@@ -65,4 +75,16 @@ class AccountControllerWebMvcTest {
         verify(accountService).create(captor.capture());
         assertThat(captor.getValue()).isEqualTo(request);
     }
+
+    @Test
+    void updateReturnsConflictWhenAccountVersionChangedConcurrently() throws Exception {
+        when(accountService.update(eq("ACC-1001"), any(UpdateAccountRequest.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, "ACC-1001"));
+
+        mockMvc.perform(put("/cuentas/ACC-1001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateAccountRequest("CORRIENTE"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Concurrent update, please retry"));
+    }
 }
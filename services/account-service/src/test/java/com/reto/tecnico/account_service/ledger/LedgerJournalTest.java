@@ -0,0 +1,101 @@
+package com.reto.tecnico.account_service.ledger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reto.tecnico.account_service.entity.Movement;
+import com.reto.tecnico.account_service.entity.MovementStatus;
+import com.reto.tecnico.account_service.entity.MovementType;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LedgerJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void reopenedJournalReturnsEntriesAfterFlushedPosition() throws Exception {
+        Path path = directory.resolve("ledger.journal");
+        Movement first = movement("ACC-1", MovementType.DEPOSITO, "10.00", "110.00");
+        Movement second = movement("ACC-1", MovementType.RETIRO, "25.50", "84.50");
+
+        try (LedgerJournal journal = LedgerJournal.open(path, 4096)) {
+            int flushed = journal.append(first);
+            journal.append(second);
+            journal.markFlushed(flushed);
+            journal.force();
+        }
+
+        try (LedgerJournal journal = LedgerJournal.open(path, 4096)) {
+            assertThat(journal.unflushed())
+                    .singleElement()
+                    .satisfies(movement -> {
+                        assertThat(movement.getMovementId()).isEqualTo(second.getMovementId());
+                        assertThat(movement.getAccountNumber()).isEqualTo("ACC-1");
+                        assertThat(movement.getMovementType()).isEqualTo(MovementType.RETIRO);
+                        assertThat(movement.getAmount()).isEqualByComparingTo("25.50");
+                        assertThat(movement.getBalanceAfter()).isEqualByComparingTo("84.50");
+                        assertThat(movement.getMovementDate()).isEqualTo(second.getMovementDate());
+                        assertThat(movement.getStatus()).isEqualTo(MovementStatus.ACTIVE);
+                    });
+
+            journal.reset();
+            assertThat(journal.unflushed()).isEmpty();
+        }
+    }
+
+    @Test
+    void corruptedEntryStopsReplay() throws Exception {
+        Path path = directory.resolve("ledger.journal");
+        int firstEnd;
+
+        try (LedgerJournal journal = LedgerJournal.open(path, 4096)) {
+            firstEnd = journal.append(movement("ACC-2", MovementType.DEPOSITO, "1.00", "1.00"));
+            journal.append(movement("ACC-2", MovementType.DEPOSITO, "2.00", "3.00"));
+            journal.force();
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(firstEnd + 12);
+            int original = file.readByte();
+            file.seek(firstEnd + 12);
+            file.writeByte(original ^ 0xFF);
+        }
+
+        try (LedgerJournal journal = LedgerJournal.open(path, 4096)) {
+            assertThat(journal.unflushed())
+                    .singleElement()
+                    .satisfies(movement -> assertThat(movement.getAmount()).isEqualByComparingTo("1.00"));
+        }
+    }
+
+    @Test
+    void hasRoomReportsFullJournal() throws Exception {
+        try (LedgerJournal journal = LedgerJournal.open(directory.resolve("ledger.journal"), 128)) {
+            Movement movement = movement("ACC-3", MovementType.DEPOSITO, "1.00", "1.00");
+            assertThat(journal.hasRoom(movement)).isTrue();
+            journal.append(movement);
+            assertThat(journal.hasRoom(movement)).isFalse();
+        }
+    }
+
+    private Movement movement(String accountNumber, MovementType type, String amount, String balanceAfter) {
+        OffsetDateTime now = OffsetDateTime.of(2026, 3, 1, 12, 30, 15, 123_456_000, ZoneOffset.UTC);
+        Movement movement = new Movement();
+        movement.setMovementId(UUID.randomUUID());
+        movement.setAccountNumber(accountNumber);
+        movement.setMovementType(type);
+        movement.setAmount(new BigDecimal(amount));
+        movement.setBalanceAfter(new BigDecimal(balanceAfter));
+        movement.setMovementDate(now);
+        movement.setCreatedAt(now);
+        movement.setStatus(MovementStatus.ACTIVE);
+        return movement;
+    }
+}
@@ -0,0 +1,149 @@
+package com.reto.tecnico.account_service.ledger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reto.tecnico.account_service.config.LedgerProperties;
+import com.reto.tecnico.account_service.entity.Movement;
+import com.reto.tecnico.account_service.entity.MovementStatus;
+import com.reto.tecnico.account_service.entity.MovementType;
+import com.reto.tecnico.account_service.repository.AccountRepository;
+import com.reto.tecnico.account_service.repository.MovementRepository;
+import com.reto.tecnico.account_service.service.MovementTotalsService;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class LedgerWriterTest {
+
+    private final MovementRepository movementRepository = mock(MovementRepository.class);
+    private final LedgerProperties ledgerProperties = new LedgerProperties();
+    private final Map<UUID, Movement> committed = new ConcurrentHashMap<>();
+    private final AtomicBoolean failed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        ledgerProperties.setPersistRetryDelay(Duration.ofMillis(10));
+        ledgerProperties.setPersistMaxAttempts(3);
+        when(movementRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Movement> movements = invocation.getArgument(0);
+            movements.forEach(movement -> committed.put(movement.getMovementId(), movement));
+            return movements;
+        });
+        when(movementRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<UUID> ids = invocation.getArgument(0);
+            List<Movement> found = new ArrayList<>();
+            ids.forEach(id -> {
+                if (committed.containsKey(id)) {
+                    found.add(committed.get(id));
+                }
+            });
+            return found;
+        });
+    }
+
+    @Test
+    void retrySkipsMovementsCommittedByAFailedAttempt() throws Exception {
+        LedgerWriter writer = writer(new FailingCommit(1, true));
+        writer.enqueue(movement("ACC-1", "10.00", "110.00"), 0);
+        writer.enqueue(movement("ACC-1", "5.00", "115.00"), 0);
+        Thread thread = new Thread(writer);
+        thread.start();
+        try {
+            assertThat(writer.awaitPersisted(Duration.ofSeconds(5))).isTrue();
+        } finally {
+            writer.shutdown();
+            thread.join();
+        }
+        assertThat(committed).hasSize(2);
+        verify(movementRepository, times(1)).saveAll(any());
+        assertThat(failed).isFalse();
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsAndReportsFailure() throws Exception {
+        LedgerWriter writer = writer(new FailingCommit(Integer.MAX_VALUE, false));
+        Thread thread = new Thread(writer);
+        thread.start();
+        try {
+            writer.enqueue(movement("ACC-2", "10.00", "110.00"), 0);
+
+            assertThat(writer.awaitPersisted(Duration.ofSeconds(5))).isFalse();
+            assertThat(failed).isTrue();
+        } finally {
+            writer.shutdown();
+            thread.join();
+        }
+        verify(movementRepository, never()).saveAll(any());
+    }
+
+    private LedgerWriter writer(TransactionTemplate transactionTemplate) {
+        return new LedgerWriter(
+                mock(AccountRepository.class),
+                movementRepository,
+                transactionTemplate,
+                ledgerProperties,
+                null,
+                mock(MovementTotalsService.class),
+                mock(ApplicationEventPublisher.class),
+                () -> failed.set(true)
+        );
+    }
+
+    private Movement movement(String accountNumber, String amount, String balanceAfter) {
+        OffsetDateTime now = OffsetDateTime.of(2026, 3, 1, 12, 30, 15, 0, ZoneOffset.UTC);
+        Movement movement = new Movement();
+        movement.setMovementId(UUID.randomUUID());
+        movement.setAccountNumber(accountNumber);
+        movement.setClienteId(UUID.randomUUID());
+        movement.setMovementType(MovementType.DEPOSITO);
+        movement.setAmount(new BigDecimal(amount));
+        movement.setBalanceAfter(new BigDecimal(balanceAfter));
+        movement.setMovementDate(now);
+        movement.setCreatedAt(now);
+        movement.setStatus(MovementStatus.ACTIVE);
+        return movement;
+    }
+
+    private static class FailingCommit extends TransactionTemplate {
+
+        private final AtomicInteger failures;
+        private final boolean commitBeforeFailing;
+
+        FailingCommit(int failures, boolean commitBeforeFailing) {
+            this.failures = new AtomicInteger(failures);
+            this.commitBeforeFailing = commitBeforeFailing;
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            if (failures.getAndDecrement() <= 0) {
+                return action.doInTransaction(new SimpleTransactionStatus());
+            }
+            if (commitBeforeFailing) {
+                action.doInTransaction(new SimpleTransactionStatus());
+            }
+            throw new TransactionSystemException("Connection lost during commit");
+        }
+    }
+}
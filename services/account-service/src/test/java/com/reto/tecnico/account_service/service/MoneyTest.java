@@ -0,0 +1,78 @@
+package com.reto.tecnico.account_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    @Test
+    void convertsDecimalAmountsToCents() {
+        assertThat(Money.toCents(new BigDecimal("100"))).isEqualTo(10_000L);
+        assertThat(Money.toCents(new BigDecimal("12.34"))).isEqualTo(1_234L);
+        assertThat(Money.toCents(new BigDecimal("0.005"))).isEqualTo(1L);
+        assertThat(Money.toCents(new BigDecimal("-0.005"))).isEqualTo(-1L);
+        assertThat(Money.toCents(new BigDecimal("92233720368547758.07"))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void convertsCentsBackToScaledDecimal() {
+        assertThat(Money.toDecimal(1_234L)).isEqualTo(new BigDecimal("12.34"));
+        assertThat(Money.toDecimal(0L)).isEqualTo(new BigDecimal("0.00"));
+    }
+
+    @Test
+    void rejectsAmountsOutsideLongRange() {
+        assertThatThrownBy(() -> Money.toCents(new BigDecimal("92233720368547758.08")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void scaleTwoAmountsMatchExactConversion() {
+        SplittableRandom random = new SplittableRandom(42);
+        long max = 999_999_999_999_999L;
+        for (int i = 0; i < 1_000_000; i++) {
+            long cents = i % 2 == 0 ? random.nextLong(-max, max + 1) : max - random.nextLong(1_000);
+            BigDecimal amount = new BigDecimal(BigDecimal.valueOf(cents, 2).toPlainString());
+            assertThat(Money.toCents(amount))
+                    .isEqualTo(amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact());
+        }
+    }
+
+    @Test
+    void scaleTwoConversionDoesNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        BigDecimal[] amounts = new BigDecimal[1_024];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = Money.toDecimal(i * 7_919L - 4_000_000L);
+        }
+
+        long scaleTwo = allocatedBytes(threads, amounts);
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = amounts[i].setScale(3);
+        }
+        long otherScale = allocatedBytes(threads, amounts);
+
+        assertThat(scaleTwo).isLessThan(1_024);
+        assertThat(otherScale).isGreaterThan(100_000 * 16L);
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads, BigDecimal[] amounts) {
+        long sum = 0;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            sum += Money.toCents(amounts[i & (amounts.length - 1)]);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertThat(sum).isNotZero();
+        return allocated;
+    }
+}
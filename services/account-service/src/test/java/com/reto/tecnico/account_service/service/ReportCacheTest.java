@@ -0,0 +1,84 @@
+package com.reto.tecnico.account_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reto.tecnico.account_service.config.ReportProperties;
+import com.reto.tecnico.account_service.dto.ReportAccountResponse;
+import com.reto.tecnico.account_service.dto.ReportResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReportCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReportProperties reportProperties;
+    private ReportCache reportCache;
+
+    @BeforeEach
+    void setUp() {
+        reportProperties = new ReportProperties();
+        reportProperties.getCache().setEnabled(true);
+        reportCache = new ReportCache(reportProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    @Test
+    void evictsEldestReportsOnceMaxWeightIsExceeded() {
+        reportProperties.getCache().setMaxWeight(5);
+        UUID clienteId = UUID.randomUUID();
+        ReportCacheKey january = key(clienteId, 1);
+        ReportCacheKey february = key(clienteId, 2);
+        ReportCacheKey march = key(clienteId, 3);
+
+        reportCache.put(january, report(clienteId, "ACC-1"), reportCache.generation(clienteId));
+        reportCache.put(february, report(clienteId, "ACC-1"), reportCache.generation(clienteId));
+        reportCache.put(march, report(clienteId, "ACC-2"), reportCache.generation(clienteId));
+
+        assertThat(reportCache.get(january)).isEmpty();
+        assertThat(reportCache.get(february)).isPresent();
+        assertThat(reportCache.get(march)).isPresent();
+        assertThat(meterRegistry.counter("reports.cache.evictions", "cause", "size").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("reports.cache.weight").gauge().value()).isEqualTo(4);
+
+        reportCache.onAccountActivity(AccountActivityEvent.forAccount(null, "ACC-2", null));
+        assertThat(reportCache.get(february)).isEmpty();
+        assertThat(reportCache.get(march)).isEmpty();
+        assertThat(meterRegistry.get("reports.cache.weight").gauge().value()).isZero();
+    }
+
+    @Test
+    void activityForUncachedCustomerRejectsReportsComputedBeforeIt() {
+        UUID clienteId = UUID.randomUUID();
+        ReportCacheKey january = key(clienteId, 1);
+
+        long generation = reportCache.generation(clienteId);
+        reportCache.onAccountActivity(AccountActivityEvent.forAccount(clienteId, "ACC-1", OffsetDateTime.now()));
+        reportCache.put(january, report(clienteId, "ACC-1"), generation);
+        assertThat(reportCache.get(january)).isEmpty();
+
+        generation = reportCache.generation(clienteId);
+        reportCache.onAccountActivity(AccountActivityEvent.forAccount(null, "ACC-UNKNOWN", OffsetDateTime.now()));
+        reportCache.put(january, report(clienteId, "ACC-1"), generation);
+        assertThat(reportCache.get(january)).isEmpty();
+
+        reportCache.put(january, report(clienteId, "ACC-1"), reportCache.generation(clienteId));
+        assertThat(reportCache.get(january)).isPresent();
+    }
+
+    private static ReportCacheKey key(UUID clienteId, int month) {
+        LocalDate from = LocalDate.of(2026, month, 1);
+        return new ReportCacheKey(clienteId, from, from.plusMonths(1).minusDays(1));
+    }
+
+    private static ReportResponse report(UUID clienteId, String accountNumber) {
+        return new ReportResponse(clienteId, "ID-1", "Client", List.of(new ReportAccountResponse(
+                accountNumber, "AHORROS", BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, List.of()
+        )));
+    }
+}
@@ -18,13 +18,18 @@ CREATE TABLE IF NOT EXISTS accounts (
   cliente_id       UUID NOT NULL,
   created_at       TIMESTAMPTZ NOT NULL DEFAULT now(),
   updated_at       TIMESTAMPTZ NOT NULL DEFAULT now(),
+  version          BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT fk_accounts_cliente
     FOREIGN KEY (cliente_id) REFERENCES client_snapshot(cliente_id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_accounts_cliente
+  ON accounts (cliente_id, account_number);
+
 CREATE TABLE IF NOT EXISTS movements (
-  movement_id     UUID PRIMARY KEY,
+  movement_id     UUID NOT NULL,
   account_number  VARCHAR(30) NOT NULL,
+  cliente_id      UUID NOT NULL,
   movement_date   TIMESTAMPTZ NOT NULL DEFAULT now(),
   movement_type   VARCHAR(20) NOT NULL,
   amount          NUMERIC(19,2) NOT NULL CHECK (amount > 0),
@@ -35,11 +40,105 @@ CREATE TABLE IF NOT EXISTS movements (
   void_reason     VARCHAR(255) NULL,
   reversal_movement_id UUID NULL,
   replacement_movement_id UUID NULL,
+  PRIMARY KEY (movement_id, movement_date),
   CONSTRAINT fk_movements_account
     FOREIGN KEY (account_number) REFERENCES accounts(account_number)
+) PARTITION BY RANGE (movement_date);
+
+CREATE TABLE IF NOT EXISTS movements_default PARTITION OF movements DEFAULT;
+
+CREATE OR REPLACE FUNCTION public.ensure_movement_partitions(from_day DATE, to_day DATE)
+RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+  month_start DATE := date_trunc('month', from_day)::date;
+  range_start TIMESTAMPTZ;
+  range_end TIMESTAMPTZ;
+  partition_name TEXT;
+  stranded BOOLEAN;
+  created INTEGER := 0;
+BEGIN
+  WHILE month_start <= to_day LOOP
+    partition_name := 'movements_p' || to_char(month_start, 'YYYYMM');
+    IF to_regclass('public.' || partition_name) IS NULL THEN
+      range_start := month_start::timestamp AT TIME ZONE 'UTC';
+      range_end := (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC';
+      stranded := FALSE;
+      IF to_regclass('public.movements_default') IS NOT NULL THEN
+        stranded := EXISTS (
+          SELECT 1 FROM public.movements_default
+          WHERE movement_date >= range_start AND movement_date < range_end
+        );
+      END IF;
+      IF stranded THEN
+        ALTER TABLE public.movements DETACH PARTITION public.movements_default;
+      END IF;
+      EXECUTE format(
+        'CREATE TABLE public.%I PARTITION OF public.movements FOR VALUES FROM (%L) TO (%L)',
+        partition_name,
+        range_start,
+        range_end
+      );
+      IF stranded THEN
+        INSERT INTO public.movements
+        SELECT * FROM public.movements_default
+        WHERE movement_date >= range_start AND movement_date < range_end;
+        DELETE FROM public.movements_default
+        WHERE movement_date >= range_start AND movement_date < range_end;
+        ALTER TABLE public.movements ATTACH PARTITION public.movements_default DEFAULT;
+      END IF;
+      created := created + 1;
+    END IF;
+    month_start := (month_start + INTERVAL '1 month')::date;
+  END LOOP;
+  RETURN created;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_movements_account_order
+  ON movements (account_number, movement_date, created_at, movement_id);
+
+CREATE INDEX IF NOT EXISTS idx_movements_date_order
+  ON movements (movement_date, created_at, movement_id);
+
+CREATE INDEX IF NOT EXISTS idx_movements_cliente_date
+  ON movements (cliente_id, movement_date, created_at, movement_id);
+
+CREATE TABLE IF NOT EXISTS balance_checkpoints (
+  account_number   VARCHAR(30) NOT NULL,
+  checkpoint_date  DATE NOT NULL,
+  closing_balance  NUMERIC(19,2) NOT NULL CHECK (closing_balance >= 0),
+  updated_at       TIMESTAMPTZ NOT NULL DEFAULT now(),
+  PRIMARY KEY (account_number, checkpoint_date),
+  CONSTRAINT fk_balance_checkpoints_account
+    FOREIGN KEY (account_number) REFERENCES accounts(account_number)
+);
+
+CREATE TABLE IF NOT EXISTS movement_daily_totals (
+  account_number     VARCHAR(30) NOT NULL,
+  total_date         DATE NOT NULL,
+  deposit_count      BIGINT NOT NULL DEFAULT 0,
+  deposit_amount     NUMERIC(19,2) NOT NULL DEFAULT 0,
+  withdrawal_count   BIGINT NOT NULL DEFAULT 0,
+  withdrawal_amount  NUMERIC(19,2) NOT NULL DEFAULT 0,
+  closing_balance    NUMERIC(19,2) NOT NULL CHECK (closing_balance >= 0),
+  updated_at         TIMESTAMPTZ NOT NULL DEFAULT now(),
+  PRIMARY KEY (account_number, total_date),
+  CONSTRAINT fk_movement_daily_totals_account
+    FOREIGN KEY (account_number) REFERENCES accounts(account_number)
 );
 
 CREATE TABLE IF NOT EXISTS processed_events (
   event_id       UUID PRIMARY KEY,
   processed_at   TIMESTAMPTZ NOT NULL DEFAULT now()
 );
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+  idempotency_key  VARCHAR(200) PRIMARY KEY,
+  request_hash     VARCHAR(64) NOT NULL,
+  response_body    TEXT NOT NULL,
+  created_at       TIMESTAMPTZ NOT NULL DEFAULT now(),
+  expires_at       TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires
+  ON idempotency_keys (expires_at);
@@ -0,0 +1,25 @@
+package com.reto.tecnico.customer_service.config;
+
+import com.reto.tecnico.customer_service.id.IdGenerator;
+import com.reto.tecnico.customer_service.id.RandomUuidGenerator;
+import com.reto.tecnico.customer_service.id.UuidV7Generator;
+import java.time.Clock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.ids.strategy", havingValue = "uuidv7", matchIfMissing = true)
+    public IdGenerator uuidV7Generator(Clock clock) {
+        return new UuidV7Generator(clock);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.ids.strategy", havingValue = "random")
+    public IdGenerator randomUuidGenerator() {
+        return new RandomUuidGenerator();
+    }
+}
@@ -0,0 +1,24 @@
+package com.reto.tecnico.customer_service.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.threads")
+public class ThreadProperties {
+
+    private Pinning pinning = new Pinning();
+
+    @Getter
+    @Setter
+    public static class Pinning {
+        private boolean enabled = true;
+        private Duration threshold = Duration.ofMillis(20);
+        private int stackDepth = 8;
+    }
+}
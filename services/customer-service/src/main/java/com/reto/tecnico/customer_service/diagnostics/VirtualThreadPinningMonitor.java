@@ -0,0 +1,84 @@
+package com.reto.tecnico.customer_service.diagnostics;
+
+import com.reto.tecnico.customer_service.config.ThreadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "app.threads.pinning", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final ThreadProperties threadProperties;
+    private final Timer pinned;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(ThreadProperties threadProperties, MeterRegistry meterRegistry) {
+        this.threadProperties = threadProperties;
+        this.pinned = Timer.builder("threads.virtual.pinned")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+                .withThreshold(threadProperties.getPinning().getThreshold())
+                .withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {}", threadProperties.getPinning().getThreshold());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream == null) {
+            return;
+        }
+        stream.close();
+        stream = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        log.warn("Virtual thread {} pinned its carrier for {} ms{}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(),
+                frames(event));
+    }
+
+    private String frames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(threadProperties.getPinning().getStackDepth())
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+    }
+}
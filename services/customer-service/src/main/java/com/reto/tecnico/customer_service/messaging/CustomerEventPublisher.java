@@ -2,9 +2,9 @@ package com.reto.tecnico.customer_service.messaging;
 
 import com.reto.tecnico.customer_service.config.RabbitProperties;
 import com.reto.tecnico.customer_service.entity.Customer;
+import com.reto.tecnico.customer_service.id.IdGenerator;
 import java.time.Clock;
 import java.time.OffsetDateTime;
-import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
@@ -20,6 +20,7 @@ public class CustomerEventPublisher {
     private final RabbitTemplate rabbitTemplate;
     private final Clock clock;
     private final RabbitProperties rabbitProperties;
+    private final IdGenerator idGenerator;
 
     public void publishCreated(Customer customer) {
         publish(customer, rabbitProperties.getRouting().getCreated(), TYPE_CREATED);
@@ -42,7 +43,7 @@ public class CustomerEventPublisher {
                 customer.isActive()
         );
         CustomerEvent event = new CustomerEvent(
-                UUID.randomUUID(),
+                idGenerator.next(),
                 eventType,
                 OffsetDateTime.now(clock),
                 payload
@@ -13,6 +13,7 @@ import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -21,9 +22,14 @@ public class CustomerService {
     private final CustomerRepository customerRepository;
     private final PasswordHasher passwordHasher;
     private final CustomerEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     public CustomerResponse create(CreateCustomerRequest request) {
+        String passwordHash = passwordHasher.hash(request.password());
+        return transactionTemplate.execute(status -> create(request, passwordHash));
+    }
+
+    private CustomerResponse create(CreateCustomerRequest request, String passwordHash) {
         if (customerRepository.existsByIdentificacion(request.identificacion())) {
             throw new ConflictException("Identificacion already exists");
         }
@@ -37,7 +43,7 @@ public class CustomerService {
         customer.setTipoIdentificacion(request.tipoIdentificacion());
         customer.setAddress(request.address());
         customer.setPhone(request.phone());
-        customer.setPasswordHash(passwordHasher.hash(request.password()));
+        customer.setPasswordHash(passwordHash);
         customer.setActive(true);
 
         Customer saved = customerRepository.save(customer);
@@ -59,8 +65,12 @@ public class CustomerService {
         return toResponse(customer);
     }
 
-    @Transactional
     public CustomerResponse update(UUID clienteId, UpdateCustomerRequest request) {
+        String passwordHash = request.password() != null ? passwordHasher.hash(request.password()) : null;
+        return transactionTemplate.execute(status -> update(clienteId, request, passwordHash));
+    }
+
+    private CustomerResponse update(UUID clienteId, UpdateCustomerRequest request, String passwordHash) {
         Customer customer = customerRepository.findById(clienteId)
                 .orElseThrow(() -> new NotFoundException("Customer not found"));
 
@@ -75,8 +85,8 @@ public class CustomerService {
         customer.setTipoIdentificacion(request.tipoIdentificacion());
         customer.setAddress(request.address());
         customer.setPhone(request.phone());
-        if (request.password() != null) {
-            customer.setPasswordHash(passwordHasher.hash(request.password()));
+        if (passwordHash != null) {
+            customer.setPasswordHash(passwordHash);
         }
 
         Customer saved = customerRepository.save(customer);
@@ -22,6 +22,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class CustomerServiceApplicationTests {
@@ -32,6 +34,9 @@ class CustomerServiceApplicationTests {
     @Mock
     private CustomerEventPublisher eventPublisher;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private PasswordHasher passwordHasher;
     private CustomerService customerService;
     private Validator validator;
@@ -39,7 +44,8 @@ class CustomerServiceApplicationTests {
     @BeforeEach
     void setUp() {
         passwordHasher = new PasswordHasher(new BCryptPasswordEncoder());
-        customerService = new CustomerService(customerRepository, passwordHasher, eventPublisher);
+        customerService = new CustomerService(
+                customerRepository, passwordHasher, eventPublisher, new TransactionTemplate(transactionManager));
         validator = Validation.buildDefaultValidatorFactory().getValidator();
     }
 
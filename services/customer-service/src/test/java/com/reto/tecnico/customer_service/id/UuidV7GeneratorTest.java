@@ -0,0 +1,41 @@
+package com.reto.tecnico.customer_service.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void generatesVersion7IdsWithEmbeddedTimestamp() {
+        Instant now = Instant.parse("2026-03-01T12:00:00.123Z");
+        UuidV7Generator generator = new UuidV7Generator(Clock.fixed(now, ZoneOffset.UTC));
+
+        UUID id = generator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(now.toEpochMilli());
+    }
+
+    @Test
+    void idsFromOneThreadAreStrictlyIncreasingWithinTheSameMillisecond() {
+        UuidV7Generator generator = new UuidV7Generator(Clock.fixed(Instant.parse("2026-03-01T12:00:00Z"), ZoneOffset.UTC));
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.next());
+        }
+
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+        assertThat(ids).isSortedAccordingTo(Comparator.comparing(UUID::toString));
+    }
+}